@@ -0,0 +1,129 @@
+package io.justina.management.benchmark;
+
+import io.justina.management.dto.appointment.AppointmentResponseDTO;
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
+import io.justina.management.model.Appointment;
+import io.justina.management.model.MedicalStaff;
+import io.justina.management.model.Patient;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filas por segundo y memoria asignada por fila (con {@code -prof gc}, métrica gc.alloc.rate.norm) al construir
+ * las respuestas de una lista de turnos.
+ * Compara el mapeo anterior, que recorría las entidades con ModelMapper y completaba seis campos con setters,
+ * con la construcción del record que hace la expresión de constructor de la consulta JPQL a partir de las columnas seleccionadas.
+ * No incluye la consulta a la base de datos ni la hidratación de entidades de Hibernate, que el camino anterior
+ * también pagaba por cada turno, paciente y profesional.
+ * <p>
+ * Ejecutar con: {@code mvn -Pbenchmark -DskipTests verify -Djmh.args="AppointmentMappingBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(AppointmentMappingBenchmark.ROWS)
+public class AppointmentMappingBenchmark {
+
+    static final int ROWS = 1000;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private List<Appointment> entities;
+    private List<Object[]> tuples;
+
+    @Setup
+    public void setUp() {
+        entities = new ArrayList<>(ROWS);
+        tuples = new ArrayList<>(ROWS);
+        LocalDateTime start = LocalDateTime.of(2026, 10, 20, 8, 0);
+        for (int i = 0; i < ROWS; i++) {
+            Patient patient = new Patient();
+            patient.setId(20L + i);
+            patient.setFirstName("Luis");
+            patient.setLastName("Paciente" + i);
+            MedicalStaff medicalStaff = new MedicalStaff();
+            medicalStaff.setId(10L);
+            medicalStaff.setFirstName("Ana");
+            medicalStaff.setLastName("Doctora");
+            medicalStaff.setSpecialities(Specialty.CARDIOLOGIA);
+            Appointment appointment = new Appointment();
+            appointment.setId((long) i);
+            appointment.setPatient(patient);
+            appointment.setMedicalStaff(medicalStaff);
+            appointment.setReason(ReasonAppointmentEnum.SEGUIMIENTO);
+            appointment.setHealthCenter("Centro");
+            appointment.setDate(start.plusMinutes(15L * i));
+            appointment.setActive(true);
+            entities.add(appointment);
+            tuples.add(new Object[]{appointment.getId(), patient.getId(), patient.getFirstName(), patient.getLastName(),
+                    medicalStaff.getId(), medicalStaff.getFirstName(), medicalStaff.getLastName(), medicalStaff.getSpecialities(),
+                    appointment.getReason(), appointment.getDescription(), appointment.getHealthCenter(),
+                    appointment.getDate(), appointment.getActive()});
+        }
+        // Igual que en la aplicación, la configuración de ModelMapper se construye una vez y se reutiliza.
+        modelMapper.map(entities.get(0), LegacyAppointmentResponse.class);
+    }
+
+    @Benchmark
+    public List<LegacyAppointmentResponse> modelMapperWithSetters() {
+        List<LegacyAppointmentResponse> responses = new ArrayList<>();
+        for (Appointment appointment : entities) {
+            Patient patient = appointment.getPatient();
+            MedicalStaff medicalStaff = appointment.getMedicalStaff();
+            LegacyAppointmentResponse response = modelMapper.map(appointment, LegacyAppointmentResponse.class);
+            response.setIdPatient(patient.getId());
+            response.setFullNamePatient(patient.getFirstName() + " " + patient.getLastName());
+            response.setIdMedicalStaff(medicalStaff.getId());
+            response.setFullNameMedicalStaff(medicalStaff.getFirstName() + " " + medicalStaff.getLastName());
+            response.setSpecialty(medicalStaff.getSpecialities().toString());
+            response.setHealthCenter(appointment.getHealthCenter());
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<AppointmentResponseDTO> constructorProjection() {
+        List<AppointmentResponseDTO> responses = new ArrayList<>(tuples.size());
+        for (Object[] row : tuples) {
+            responses.add(new AppointmentResponseDTO((Long) row[0], (Long) row[1], (String) row[2], (String) row[3],
+                    (Long) row[4], (String) row[5], (String) row[6], (Specialty) row[7], (ReasonAppointmentEnum) row[8],
+                    (String) row[9], (String) row[10], (LocalDateTime) row[11], (Boolean) row[12]));
+        }
+        return responses;
+    }
+
+    /**
+     * Copia del DTO mutable que se usaba antes de reemplazarlo por un record.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class LegacyAppointmentResponse implements Serializable {
+        private Long id;
+        private Long idPatient;
+        private String fullNamePatient;
+        private Long idMedicalStaff;
+        private String fullNameMedicalStaff;
+        private String specialty;
+        private String reason;
+        private String description;
+        private String healthCenter;
+        private LocalDateTime date;
+        private Boolean active;
+    }
+}
@@ -0,0 +1,46 @@
+package io.justina.management.benchmark;
+
+import io.justina.management.enums.RoleEnum;
+import io.justina.management.model.User;
+import io.justina.management.service.token.TokenService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+/**
+ * Objetos compartidos por los benchmarks, construidos sin levantar el contexto de Spring.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Crea un TokenService con la configuración por defecto de la aplicación.
+     *
+     * @return Servicio de tokens inicializado
+     */
+    static TokenService tokenService() {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "apiSecret", "secreto-de-benchmark");
+        ReflectionTestUtils.setField(tokenService, "accessTokenExpiration", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(tokenService, "refreshTokenExpiration", Duration.ofHours(168));
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+        return tokenService;
+    }
+
+    /**
+     * Crea un paciente como el que emite los tokens en producción.
+     *
+     * @return Usuario de prueba
+     */
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("paciente@justina.io");
+        user.setFirstName("Ana");
+        user.setRoleEnum(RoleEnum.PATIENT);
+        user.setTokenVersion(0);
+        return user;
+    }
+}
@@ -0,0 +1,80 @@
+package io.justina.management.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.justina.management.model.User;
+import io.justina.management.service.token.TokenClaims;
+import io.justina.management.service.token.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens por segundo emitidos y verificados por TokenService, que comparte un único firmador y verificador,
+ * contra el camino anterior, que creaba el algoritmo HMAC y el verificador en cada llamada y volvía a
+ * decodificar el token para leer la expiración y el rol.
+ * <p>
+ * Ejecutar con: {@code mvn -Pbenchmark -DskipTests verify -Djmh.args="TokenServiceBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "secreto-de-benchmark";
+    private static final String ISSUER = "justina.io";
+
+    private TokenService tokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = BenchmarkFixtures.tokenService();
+        user = BenchmarkFixtures.user();
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String issueWithNewAlgorithmPerCall() {
+        return JWT.create()
+                .withIssuer(ISSUER)
+                .withJWTId(UUID.randomUUID().toString())
+                .withSubject(user.getEmail())
+                .withClaim("id", user.getId())
+                .withClaim("role", user.getRoleEnum().name())
+                .withClaim("nombre", user.getFirstName())
+                .withClaim("type", TokenClaims.ACCESS)
+                .withClaim("ver", 0)
+                .withExpiresAt(Date.from(Instant.now().plusSeconds(900)))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+
+    @Benchmark
+    public String issueWithSharedAlgorithm() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object verifyWithNewVerifierPerCall() {
+        DecodedJWT verified = JWT.require(Algorithm.HMAC256(SECRET)).withIssuer(ISSUER).build().verify(token);
+        Date expiresAt = JWT.decode(token).getExpiresAt();
+        String role = JWT.decode(token).getClaim("role").asString();
+        return new Object[]{verified.getSubject(), expiresAt, role};
+    }
+
+    @Benchmark
+    public TokenClaims verifyWithSharedVerifier() {
+        return tokenService.verifyToken(token);
+    }
+}
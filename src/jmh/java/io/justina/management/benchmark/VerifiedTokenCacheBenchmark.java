@@ -0,0 +1,55 @@
+package io.justina.management.benchmark;
+
+import com.auth0.jwt.JWT;
+import io.justina.management.service.token.TokenClaims;
+import io.justina.management.service.token.TokenService;
+import io.justina.management.service.token.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la autenticación de una solicitud con la caché de tokens verificados contra el camino anterior,
+ * que verificaba la firma HMAC dos veces (sujeto y validación) y decodificaba el token dos veces más (expiración y rol).
+ * <p>
+ * Ejecutar con: {@code mvn -Pbenchmark -DskipTests verify -Djmh.args="VerifiedTokenCacheBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class VerifiedTokenCacheBenchmark {
+
+    private TokenService tokenService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = BenchmarkFixtures.tokenService();
+        verifiedTokenCache = new VerifiedTokenCache(tokenService, new SimpleMeterRegistry(), 10_000);
+        token = tokenService.generateToken(BenchmarkFixtures.user());
+    }
+
+    @Benchmark
+    public void verifyOnEveryCall(Blackhole blackhole) {
+        blackhole.consume(tokenService.verifyToken(token).subject());
+        blackhole.consume(tokenService.verifyToken(token).subject());
+        blackhole.consume(JWT.decode(token).getExpiresAt());
+        blackhole.consume(JWT.decode(token).getClaim("role").asString());
+    }
+
+    @Benchmark
+    public TokenClaims verifiedTokenCache() {
+        return verifiedTokenCache.verify(token);
+    }
+}
@@ -1,5 +1,6 @@
 package io.justina.management;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Component;
  * Clase que gestiona el inicio de la aplicación y muestra la documentación de Swagger una vez que la aplicación está lista.
  * Imprime la URL de la documentación Swagger basada en las propiedades configuradas.
  */
+@Slf4j
 @Component
 public class ApplicationStartup implements ApplicationListener<ApplicationReadyEvent> {
 
@@ -26,7 +28,7 @@ public class ApplicationStartup implements ApplicationListener<ApplicationReadyE
      */
     @Override
     public void onApplicationEvent(final ApplicationReadyEvent event) {
-        System.out.println("DOCUMENTACION SWAGGER: http://localhost:" + serverPort + apiDocsPath);
+        log.info("DOCUMENTACION SWAGGER: http://localhost:{}{}", serverPort, apiDocsPath);
     }
 }
 
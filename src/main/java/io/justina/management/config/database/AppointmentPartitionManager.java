@@ -0,0 +1,191 @@
+package io.justina.management.config.database;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Administra las particiones mensuales por rango de "fecha_turno" de la tabla "turnos".
+ * <p>
+ * La conversión a tabla particionada la hace una única vez la migración {@code V1__particionar_turnos.sql}:
+ * la tabla existente pasa a ser la partición "turnos_historico" con los meses anteriores a la migración.
+ * <p>
+ * Una tarea programada crea por adelantado las particiones de los próximos meses y mueve a "turnos_archivo"
+ * las particiones cuyo rango termina antes de la retención configurada, incluida la histórica:
+ * la partición se desasocia de "turnos" y se asocia al archivo, sin copiar filas.
+ * <p>
+ * Las restricciones de exclusión que impiden turnos superpuestos se crean en cada partición, y las superposiciones
+ * entre meses contiguos las rechaza el trigger "turnos_sin_superposicion_entre_meses" que crea la migración.
+ */
+@Slf4j
+@Component
+public class AppointmentPartitionManager {
+
+    /**
+     * Tabla particionada a la que se mueven las particiones archivadas.
+     */
+    public static final String ARCHIVE_TABLE = "turnos_archivo";
+
+    private static final String TABLE = "turnos";
+    private static final String DEFAULT_PARTITION = "turnos_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final long slotMinutes;
+
+    /**
+     * Constructor que inicializa el componente.
+     *
+     * @param jdbcTemplate        Plantilla JDBC para ejecutar las sentencias DDL
+     * @param transactionTemplate Plantilla usada para ejecutar cada paso en una transacción
+     * @param enabled             Si es false, no se crean ni se archivan particiones
+     * @param monthsAhead         Cantidad de meses futuros con partición creada de antemano
+     * @param retentionMonths     Cantidad de meses anteriores al actual que permanecen en "turnos"
+     * @param slotMinutes         Duración de cada turno en minutos
+     */
+    @Autowired
+    public AppointmentPartitionManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                       @Value("${api.appointments.partitioning.enabled:true}") boolean enabled,
+                                       @Value("${api.appointments.partitioning.months-ahead:3}") int monthsAhead,
+                                       @Value("${api.appointments.partitioning.retention-months:24}") int retentionMonths,
+                                       @Value("${api.appointments.slot-minutes:15}") long slotMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.slotMinutes = slotMinutes;
+    }
+
+    /**
+     * Indica si la tabla "turnos" ya está particionada.
+     *
+     * @return true si la tabla es particionada, false si es una tabla común o no existe
+     */
+    public boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+        return kinds.contains("p");
+    }
+
+    /**
+     * Ejecuta el mantenimiento de particiones al iniciar la aplicación.
+     * Si la tabla no está particionada (la migración no se aplicó), solo lo registra.
+     */
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        if (!isPartitioned()) {
+            log.warn("La tabla {} no está particionada; se omite el mantenimiento de particiones", TABLE);
+            return;
+        }
+        maintain();
+    }
+
+    /**
+     * Crea las particiones de los próximos meses y archiva las que superan la retención.
+     */
+    @Scheduled(cron = "${api.appointments.partitioning.maintenance-cron:0 15 0 * * *}")
+    public void maintain() {
+        if (!enabled || !isPartitioned()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        archivePartitionsBefore(current.minusMonths(retentionMonths));
+    }
+
+    /**
+     * Crea la partición del mes indicado si no existe. Las filas de ese mes que hayan caído en la partición
+     * por defecto se mueven a la nueva partición antes de asociarla.
+     */
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+                    return;
+                }
+                attachNewPartition(month);
+            });
+        } catch (DataAccessException e) {
+            log.warn("No se pudo crear la partición {}: {}", partition, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void attachNewPartition(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE fecha_turno >= ? AND fecha_turno < ? " +
+                        "RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved",
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition + " " + bounds(month));
+        addExclusionConstraints(partition);
+    }
+
+    /**
+     * Mueve a "turnos_archivo" las particiones cuyo rango termina antes del mes indicado.
+     * El límite superior se lee de la definición de cada partición, por lo que incluye a la partición histórica.
+     */
+    private void archivePartitionsBefore(YearMonth firstRetained) {
+        LocalDateTime retainedFrom = firstRetained.atDay(1).atStartOfDay();
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bounds " +
+                        "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)", TABLE);
+        for (Map<String, Object> partition : partitions) {
+            String name = (String) partition.get("name");
+            String bounds = (String) partition.get("bounds");
+            Matcher matcher = UPPER_BOUND.matcher(bounds);
+            if (!matcher.find() || LocalDateTime.parse(matcher.group(1), BOUND_FORMAT).isAfter(retainedFrom)) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + name);
+                    jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " ATTACH PARTITION " + name + " " + bounds);
+                });
+                log.info("Partición {} movida a {}", name, ARCHIVE_TABLE);
+            } catch (DataAccessException e) {
+                log.warn("No se pudo archivar la partición {}: {}", name, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void addExclusionConstraints(String partition) {
+        String slot = "interval '" + slotMinutes + " minutes'";
+        jdbcTemplate.execute("ALTER TABLE " + partition + " ADD CONSTRAINT " + partition + "_profesional_sin_superposicion " +
+                "EXCLUDE USING gist (professional_id WITH =, tsrange(fecha_turno, fecha_turno + " + slot + ") WITH &&) WHERE (activo)");
+        jdbcTemplate.execute("ALTER TABLE " + partition + " ADD CONSTRAINT " + partition + "_paciente_sin_superposicion " +
+                "EXCLUDE USING gist (patient_id WITH =, tsrange(fecha_turno, fecha_turno + " + slot + ") WITH &&) WHERE (activo)");
+    }
+
+    private static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static String bounds(YearMonth month) {
+        return "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
@@ -0,0 +1,111 @@
+package io.justina.management.config.database;
+
+import io.justina.management.model.Appointment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aplica al iniciar los objetos de base de datos que Hibernate no genera con ddl-auto,
+ * como las restricciones de exclusión de la tabla "turnos", las particiones de los próximos meses o el ajuste de su secuencia de identificadores,
+ * y las claves foráneas de "turnos", que Hibernate no actualiza por estar administrada por las migraciones.
+ * La conversión de "turnos" en tabla particionada no se hace aquí sino en la migración {@code V1__particionar_turnos.sql}.
+ * Cada paso es idempotente y, si falla (por ejemplo por falta de permisos), se registra y la aplicación continúa.
+ */
+@Slf4j
+@Component
+@Order(0)
+public class DatabaseSchemaInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppointmentPartitionManager partitionManager;
+    private final long slotMinutes;
+
+    /**
+     * Constructor que inicializa el componente.
+     *
+     * @param jdbcTemplate     Plantilla JDBC para ejecutar las sentencias DDL
+     * @param partitionManager Administrador de las particiones mensuales de "turnos"
+     * @param slotMinutes      Duración de cada turno en minutos
+     */
+    @Autowired
+    public DatabaseSchemaInitializer(JdbcTemplate jdbcTemplate, AppointmentPartitionManager partitionManager,
+                                     @Value("${api.appointments.slot-minutes:15}") long slotMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionManager = partitionManager;
+        this.slotMinutes = slotMinutes;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        alignAppointmentSequence();
+        execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+        partitionManager.initialize();
+        createAppointmentExclusionConstraints();
+        addForeignKeyIfMissing("turnos", "turnos_professional_id_fkey", "professional_id", "medical_staff");
+        addForeignKeyIfMissing("turnos", "turnos_patient_id_fkey", "patient_id", "pacientes");
+    }
+
+    /**
+     * Adelanta la secuencia "turnos_seq" por encima del mayor ID existente, ya que los turnos creados
+     * cuando la columna era IDENTITY no la consumieron.
+     */
+    private void alignAppointmentSequence() {
+        execute("SELECT setval('turnos_seq', m.max_id + " + Appointment.ID_ALLOCATION_SIZE + ") " +
+                "FROM (SELECT COALESCE(MAX(id_turno), 0) AS max_id FROM turnos) m, turnos_seq s " +
+                "WHERE s.last_value < m.max_id");
+    }
+
+    /**
+     * Crea las restricciones que impiden que un médico o un paciente tengan dos turnos activos superpuestos.
+     * Si la tabla está particionada, las restricciones se crean en cada partición al crearla.
+     */
+    private void createAppointmentExclusionConstraints() {
+        if (partitionManager.isPartitioned()) {
+            return;
+        }
+        String slot = "interval '" + slotMinutes + " minutes'";
+        addConstraintIfMissing("turnos", "turnos_profesional_sin_superposicion",
+                "EXCLUDE USING gist (professional_id WITH =, tsrange(fecha_turno, fecha_turno + " + slot + ") WITH &&) WHERE (activo)");
+        addConstraintIfMissing("turnos", "turnos_paciente_sin_superposicion",
+                "EXCLUDE USING gist (patient_id WITH =, tsrange(fecha_turno, fecha_turno + " + slot + ") WITH &&) WHERE (activo)");
+    }
+
+    private void addConstraintIfMissing(String table, String name, String definition) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)", Boolean.class, name);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        execute("ALTER TABLE " + table + " ADD CONSTRAINT " + name + " " + definition);
+    }
+
+    /**
+     * Agrega la clave foránea si la tabla no tiene ya una hacia la tabla referenciada, sin importar su nombre:
+     * en las bases convertidas por la migración conservan el nombre generado por Hibernate.
+     */
+    private void addForeignKeyIfMissing(String table, String name, String column, String referencedTable) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE contype = 'f' " +
+                        "AND conrelid = to_regclass(?) AND confrelid = to_regclass(?))", Boolean.class, table, referencedTable);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        execute("ALTER TABLE " + table + " ADD CONSTRAINT " + name + " FOREIGN KEY (" + column + ") " +
+                "REFERENCES " + referencedTable + " (user_id)");
+    }
+
+    private void execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            log.warn("No se pudo aplicar la sentencia de esquema [{}]: {}", sql, e.getMostSpecificCause().getMessage());
+        }
+    }
+}
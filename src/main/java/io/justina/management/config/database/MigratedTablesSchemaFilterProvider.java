@@ -0,0 +1,62 @@
+package io.justina.management.config.database;
+
+import org.hibernate.boot.model.relational.Namespace;
+import org.hibernate.boot.model.relational.Sequence;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.schema.spi.SchemaFilter;
+import org.hibernate.tool.schema.spi.SchemaFilterProvider;
+
+import java.util.Set;
+
+/**
+ * Excluye de la actualización automática de esquema (ddl-auto=update) las tablas cuya estructura administran
+ * las migraciones de Flyway.
+ * El driver de PostgreSQL no informa los índices ni las claves foráneas de una tabla particionada, por lo que
+ * Hibernate intentaría crearlos de nuevo en cada inicio. Los cambios de columnas de estas tablas deben hacerse con una migración.
+ */
+public class MigratedTablesSchemaFilterProvider implements SchemaFilterProvider {
+
+    private static final Set<String> MIGRATED_TABLES = Set.of("turnos");
+
+    private static final SchemaFilter MIGRATE_FILTER = new SchemaFilter() {
+        @Override
+        public boolean includeNamespace(Namespace namespace) {
+            return true;
+        }
+
+        @Override
+        public boolean includeTable(Table table) {
+            return !MIGRATED_TABLES.contains(table.getName());
+        }
+
+        @Override
+        public boolean includeSequence(Sequence sequence) {
+            return true;
+        }
+    };
+
+    @Override
+    public SchemaFilter getCreateFilter() {
+        return SchemaFilter.ALL;
+    }
+
+    @Override
+    public SchemaFilter getDropFilter() {
+        return SchemaFilter.ALL;
+    }
+
+    @Override
+    public SchemaFilter getTruncatorFilter() {
+        return SchemaFilter.ALL;
+    }
+
+    @Override
+    public SchemaFilter getMigrateFilter() {
+        return MIGRATE_FILTER;
+    }
+
+    @Override
+    public SchemaFilter getValidateFilter() {
+        return SchemaFilter.ALL;
+    }
+}
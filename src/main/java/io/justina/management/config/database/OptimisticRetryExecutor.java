@@ -0,0 +1,117 @@
+package io.justina.management.config.database;
+
+import io.justina.management.exception.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta escrituras en una transacción propia y las reintenta cuando fallan por bloqueo optimista,
+ * es decir, cuando otra transacción modificó la misma entidad (columna {@code version}) entre la lectura y la escritura.
+ * Entre intentos espera un tiempo aleatorio con crecimiento exponencial (full jitter), para que las transacciones
+ * en conflicto no vuelvan a coincidir. Si se agotan los intentos, se lanza {@link ConflictException}.
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    /**
+     * Constructor que inicializa el componente.
+     *
+     * @param transactionTemplate Plantilla usada para abrir una transacción por intento
+     * @param meterRegistry       Registro de métricas de la aplicación
+     * @param maxAttempts         Cantidad máxima de intentos, incluido el primero
+     * @param baseBackoff         Espera máxima antes del primer reintento
+     * @param maxBackoff          Tope de la espera entre reintentos
+     */
+    @Autowired
+    public OptimisticRetryExecutor(TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                   @Value("${api.database.optimistic-retry.max-attempts:4}") int maxAttempts,
+                                   @Value("${api.database.optimistic-retry.base-backoff:20ms}") Duration baseBackoff,
+                                   @Value("${api.database.optimistic-retry.max-backoff:500ms}") Duration maxBackoff) {
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = baseBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+    }
+
+    /**
+     * Ejecuta la acción en una transacción, reintentándola ante conflictos de versión.
+     * La acción debe volver a leer las entidades que modifica, ya que cada intento usa un contexto de persistencia nuevo.
+     * Si ya hay una transacción activa, la acción se ejecuta dentro de ella sin reintentos: un conflicto
+     * marca la transacción exterior para revertirse y solo quien la abrió puede repetirla.
+     *
+     * @param operation Nombre de la operación, usado como etiqueta en las métricas
+     * @param action    Escritura a ejecutar
+     * @param <T>       Tipo del resultado
+     * @return Resultado de la acción
+     * @throws ConflictException Si la acción sigue en conflicto después del último intento
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                counter("db.optimistic.conflicts", operation, "Escrituras que encontraron una versión desactualizada").increment();
+                if (attempt >= maxAttempts) {
+                    counter("db.optimistic.exhausted", operation, "Escrituras que agotaron los reintentos por conflicto").increment();
+                    log.warn("La operación {} siguió en conflicto después de {} intentos", operation, attempt);
+                    throw new ConflictException("El recurso fue modificado por otra operación; intente nuevamente");
+                }
+                counter("db.optimistic.retries", operation, "Reintentos de escrituras en conflicto").increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Variante de {@link #execute(String, Supplier)} para acciones sin resultado.
+     *
+     * @param operation Nombre de la operación, usado como etiqueta en las métricas
+     * @param action    Escritura a ejecutar
+     */
+    public void run(String operation, Runnable action) {
+        execute(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("El reintento de la operación fue interrumpido");
+        }
+    }
+
+    private Counter counter(String name, String operation, String description) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,46 @@
+package io.justina.management.config.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.regex.Pattern;
+
+/**
+ * Conversor de Logback que oculta datos sensibles del mensaje antes de escribirlo.
+ * Reemplaza tokens JWT, valores de encabezados Bearer y correos electrónicos.
+ * Se registra en logback-spring.xml con la palabra de conversión "redactedMsg".
+ */
+public class RedactingMessageConverter extends MessageConverter {
+
+    private static final Pattern BEARER = Pattern.compile("(?i)bearer\\s+[A-Za-z0-9._~+/=-]+");
+    private static final Pattern JWT = Pattern.compile("eyJ[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]*");
+    private static final Pattern EMAIL = Pattern.compile("([A-Za-z0-9._%+-])[A-Za-z0-9._%+-]*@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})");
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return redact(super.convert(event));
+    }
+
+    /**
+     * Oculta los datos sensibles del texto indicado.
+     *
+     * @param message Texto original
+     * @return Texto con los tokens y correos electrónicos ocultos
+     */
+    static String redact(String message) {
+        if (message == null || message.isEmpty()) {
+            return message;
+        }
+        String redacted = message;
+        if (redacted.indexOf('@') >= 0) {
+            redacted = EMAIL.matcher(redacted).replaceAll("$1***@$2");
+        }
+        if (redacted.contains("eyJ")) {
+            redacted = JWT.matcher(redacted).replaceAll("[JWT]");
+        }
+        if (redacted.toLowerCase().contains("bearer")) {
+            redacted = BEARER.matcher(redacted).replaceAll("Bearer [REDACTED]");
+        }
+        return redacted;
+    }
+}
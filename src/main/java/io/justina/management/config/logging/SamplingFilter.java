@@ -0,0 +1,58 @@
+package io.justina.management.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import lombok.Setter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro de Logback que conserva solo uno de cada N eventos de una categoría.
+ * Aplica a los eventos cuyo logger comienza con el prefijo configurado y cuyo nivel no supera el indicado;
+ * los eventos de mayor nivel y los de otras categorías no se ven afectados.
+ * Se configura en logback-spring.xml, una instancia por categoría.
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * Prefijo del nombre de los loggers a muestrear.
+     */
+    @Setter
+    private String loggerPrefix = "";
+
+    /**
+     * Nivel máximo de los eventos a muestrear.
+     */
+    @Setter
+    private String level = "DEBUG";
+
+    /**
+     * Se conserva uno de cada {@code rate} eventos.
+     */
+    @Setter
+    private int rate = 1;
+
+    private Level maxLevel = Level.DEBUG;
+
+    @Override
+    public void start() {
+        maxLevel = Level.toLevel(level, Level.DEBUG);
+        if (rate < 1) {
+            addError("El valor de rate debe ser mayor a cero");
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate == 1 || event.getLevel().toInt() > maxLevel.toInt() || !event.getLoggerName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,12 @@
+package io.justina.management.config.scheduling;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuración que habilita la ejecución de tareas programadas en la aplicación.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,83 @@
+package io.justina.management.config.security;
+
+import io.justina.management.enums.RoleEnum;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Componente con las verificaciones de acceso usadas en las anotaciones {@code @PreAuthorize}.
+ * Se referencia como {@code @access} y cada verificación es una operación de bits sobre la máscara
+ * de roles del principal, sin recorrer las autoridades de la solicitud.
+ */
+@Component("access")
+public class AccessGuard {
+
+    private static final int ADMIN = RoleEnum.ADMIN.mask();
+    private static final int PATIENT = RoleEnum.PATIENT.mask();
+    private static final int DOCTOR = RoleEnum.DOCTOR.mask();
+
+    /**
+     * Indica si el usuario autenticado es administrador.
+     *
+     * @return true si el usuario es administrador, false de lo contrario.
+     */
+    public boolean isAdmin() {
+        AuthenticatedUser user = currentUser();
+        return user != null && user.hasAnyRole(ADMIN);
+    }
+
+    /**
+     * Indica si el usuario autenticado es administrador o es el paciente con el ID indicado.
+     *
+     * @param patientId ID del paciente al que se quiere acceder.
+     * @return true si el acceso está permitido, false de lo contrario.
+     */
+    public boolean isAdminOrPatient(Long patientId) {
+        return isAdminOrOwner(PATIENT, patientId);
+    }
+
+    /**
+     * Indica si el usuario autenticado es administrador o es el médico con el ID indicado.
+     *
+     * @param medicalStaffId ID del médico al que se quiere acceder.
+     * @return true si el acceso está permitido, false de lo contrario.
+     */
+    public boolean isAdminOrDoctor(Long medicalStaffId) {
+        return isAdminOrOwner(DOCTOR, medicalStaffId);
+    }
+
+    /**
+     * Indica si el usuario autenticado puede suscribirse a los cambios de citas con los filtros indicados:
+     * un administrador a cualquiera, un médico solo a los suyos y un paciente solo a los propios.
+     *
+     * @param medicalStaffId ID del médico por el que se filtra, o null.
+     * @param patientId      ID del paciente por el que se filtra, o null.
+     * @return true si el acceso está permitido, false de lo contrario.
+     */
+    public boolean canSubscribe(Long medicalStaffId, Long patientId) {
+        AuthenticatedUser user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        return user.hasAnyRole(ADMIN)
+                || user.hasAnyRole(DOCTOR) && user.id().equals(medicalStaffId)
+                || user.hasAnyRole(PATIENT) && user.id().equals(patientId);
+    }
+
+    private boolean isAdminOrOwner(int ownerRole, Long id) {
+        AuthenticatedUser user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        return user.hasAnyRole(ADMIN) || user.hasAnyRole(ownerRole) && user.id().equals(id);
+    }
+
+    private static AuthenticatedUser currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+package io.justina.management.config.security;
+
+import io.justina.management.enums.RoleEnum;
+import io.justina.management.model.User;
+import io.justina.management.service.token.TokenClaims;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+/**
+ * Principal inmutable que se guarda en el SecurityContext para cada solicitud autenticada.
+ * Contiene solo los datos necesarios para las verificaciones de acceso, sin la entidad completa del usuario.
+ *
+ * @param id        Identificador del usuario.
+ * @param email     Correo electrónico del usuario.
+ * @param role      Rol del usuario.
+ * @param firstName Nombre del usuario.
+ * @param roleMask  Máscara de roles del usuario, precalculada a partir de {@link RoleEnum#mask()}.
+ */
+public record AuthenticatedUser(
+        Long id,
+        String email,
+        RoleEnum role,
+        String firstName,
+        int roleMask
+) implements Principal, Serializable {
+
+    /**
+     * Construye el principal a partir de los datos de un token JWT verificado.
+     *
+     * @param claims Datos del token verificado.
+     * @return Principal autenticado.
+     */
+    public static AuthenticatedUser from(TokenClaims claims) {
+        RoleEnum role = RoleEnum.valueOf(claims.role());
+        return new AuthenticatedUser(claims.id(), claims.subject(), role, claims.name(), role.mask());
+    }
+
+    /**
+     * Construye el principal a partir de la entidad del usuario.
+     *
+     * @param user Usuario cargado desde la base de datos.
+     * @return Principal autenticado.
+     */
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRoleEnum(), user.getFirstName(),
+                user.getRoleEnum().mask());
+    }
+
+    /**
+     * Indica si el usuario tiene alguno de los roles de la máscara indicada.
+     *
+     * @param mask Máscara de roles, construida con {@link RoleEnum#maskOf(RoleEnum...)}.
+     * @return true si el usuario tiene al menos uno de los roles, false de lo contrario.
+     */
+    public boolean hasAnyRole(int mask) {
+        return (roleMask & mask) != 0;
+    }
+
+    /**
+     * Devuelve el nombre del principal, en este caso el correo electrónico.
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+}
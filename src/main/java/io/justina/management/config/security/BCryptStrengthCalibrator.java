@@ -0,0 +1,49 @@
+package io.justina.management.config.security;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Calcula el factor de trabajo de BCrypt según el hardware donde se ejecuta la aplicación.
+ * Mide el tiempo de un hash con cada costo y elige el mayor que no supera la latencia objetivo.
+ */
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibracion-justina";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * Elige el factor de trabajo de BCrypt para la latencia objetivo.
+     *
+     * @param targetLatency Tiempo máximo deseado por cada hash
+     * @param minStrength   Factor mínimo permitido, que se usa aunque supere la latencia objetivo
+     * @param maxStrength   Factor máximo permitido
+     * @return Factor de trabajo elegido
+     */
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        // Primer hash descartado para que la medición no incluya la carga de clases ni el JIT.
+        hash(minStrength);
+        int strength = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            long elapsed = hash(candidate);
+            if (elapsed > targetLatency.toNanos()) {
+                break;
+            }
+            strength = candidate;
+            // Cada incremento del costo duplica el tiempo; si el siguiente ya excede el objetivo, se evita medirlo.
+            if (elapsed * 2 > targetLatency.toNanos()) {
+                break;
+            }
+        }
+        return strength;
+    }
+
+    private static long hash(int strength) {
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(strength));
+        return System.nanoTime() - start;
+    }
+}
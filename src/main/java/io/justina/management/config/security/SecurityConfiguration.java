@@ -1,12 +1,18 @@
 package io.justina.management.config.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -14,13 +20,19 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.time.Duration;
+
 /**
  * Configuración de seguridad de la aplicación.
  * Define las reglas de seguridad, el filtro de seguridad y los beans necesarios.
  */
+@Slf4j
 @Configuration
 @EnableWebSecurity
+@EnableMethodSecurity
 public class SecurityConfiguration {
 
     private final SecurityFilter securityFilter;
@@ -47,19 +59,29 @@ public class SecurityConfiguration {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Sin token, o con un token inválido, expirado o revocado: 401. Autenticado sin permiso: 403.
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth -> auth
+                        // Continuación asíncrona de respuestas ya autorizadas (exportaciones en streaming) y páginas de error,
+                        // que se despachan sin volver a pasar por SecurityFilter y no deben convertir un 403 en 401
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // Rutas públicas
                         .requestMatchers(HttpMethod.GET, "/").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/api/user/add", "/api/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/user/add", "/api/login", "/api/login/refresh").permitAll()
                         .requestMatchers("/swagger-ui.html", "/v3/api-docs/**", "/swagger-ui/**").permitAll()
 
+                        .requestMatchers(HttpMethod.POST, "/api/login/logout").authenticated()
+
                         // Rutas compartidas entre ADMIN / PATIENT / DOCTOR
                         .requestMatchers(HttpMethod.GET, "/api/patient/{id}", "/api/medical/getActive").hasAnyRole("ADMIN", "PATIENT")
                         .requestMatchers(HttpMethod.GET, "/api/appointment/getByPatient/{id}").hasAnyRole("ADMIN", "PATIENT")
                         .requestMatchers(HttpMethod.POST, "/api/appointment/add").hasAnyRole("PATIENT", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/appointment/availability", "/api/medical/{id}/working-hours").hasAnyRole("ADMIN", "PATIENT", "DOCTOR")
                         .requestMatchers(HttpMethod.GET,"/api/appointment/getByMedicalStaff/{id}").hasAnyRole("ADMIN", "DOCTOR")
                         .requestMatchers(HttpMethod.GET, "/api/medical/{id}").hasAnyRole("ADMIN", "DOCTOR")
-                        .requestMatchers(HttpMethod.GET, "/api/appointment/getByMedicalStaff/{id}").hasAnyRole("ADMIN", "DOCTOR")
+                        .requestMatchers(HttpMethod.GET, "/api/appointment/getAgenda/{id}").hasAnyRole("ADMIN", "DOCTOR")
+                        .requestMatchers(HttpMethod.GET, "/api/appointment/stream").hasAnyRole("ADMIN", "DOCTOR", "PATIENT")
 
 
                         // Rutas específicas para ADMIN
@@ -96,12 +118,29 @@ public class SecurityConfiguration {
 
     /**
      * Configura el codificador de contraseñas para la aplicación.
+     * El hash BCrypt se ejecuta en un pool de hilos acotado para no bloquear los hilos de las solicitudes,
+     * y su factor de trabajo se calibra al iniciar para cumplir la latencia objetivo por hash.
      *
+     * @param meterRegistry Registro de métricas de la aplicación
+     * @param threads       Cantidad máxima de operaciones de hash concurrentes
+     * @param queueCapacity Cantidad máxima de operaciones de hash en espera
+     * @param timeout       Tiempo máximo de espera del resultado de un hash
+     * @param targetLatency Latencia objetivo de cada hash
+     * @param minStrength   Factor de trabajo mínimo de BCrypt
+     * @param maxStrength   Factor de trabajo máximo de BCrypt
      * @return Codificador de contraseñas BCrypt
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${api.security.hashing.threads:2}") int threads,
+                                           @Value("${api.security.hashing.queue-capacity:100}") int queueCapacity,
+                                           @Value("${api.security.hashing.timeout:5s}") Duration timeout,
+                                           @Value("${api.security.hashing.target-latency:250ms}") Duration targetLatency,
+                                           @Value("${api.security.hashing.min-strength:10}") int minStrength,
+                                           @Value("${api.security.hashing.max-strength:14}") int maxStrength) {
+        int strength = BCryptStrengthCalibrator.calibrate(targetLatency, minStrength, maxStrength);
+        log.info("Factor de trabajo BCrypt calibrado: {}", strength);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, timeout, meterRegistry);
     }
 
 }
@@ -1,11 +1,19 @@
 package io.justina.management.config.security;
 
-import io.justina.management.service.token.TokenService;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.justina.management.enums.RoleEnum;
+import io.justina.management.model.User;
+import io.justina.management.service.token.TokenClaims;
+import io.justina.management.service.token.TokenRevocationService;
+import io.justina.management.service.token.TokenVersionRegistry;
+import io.justina.management.service.token.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -18,30 +26,50 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Filtro de seguridad para validar y establecer la autenticación basada en tokens JWT.
  * Extiende OncePerRequestFilter para garantizar que se ejecute una vez por cada solicitud.
  */
+@Slf4j
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
-    private final TokenService tokenService;
+    private static final Map<RoleEnum, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(RoleEnum.class);
+
+    static {
+        for (RoleEnum role : RoleEnum.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final boolean statelessPrincipal;
 
     /**
      * Constructor que inicializa el filtro de seguridad con los servicios necesarios.
      *
-     * @param tokenService           Servicio para operaciones relacionadas con tokens JWT
-
+     * @param verifiedTokenCache     Caché de tokens JWT ya verificados
+     * @param userDetailsService     Servicio para cargar el usuario desde la base de datos
+     * @param tokenRevocationService Servicio que indica si un token fue revocado
+     * @param tokenVersionRegistry   Registro de la versión vigente de los tokens de cada usuario
+     * @param statelessPrincipal     Si es true, el principal se construye solo con los claims del token
      */
     @Autowired
-    public SecurityFilter(TokenService tokenService, UserDetailsService userDetailsService) {
-        this.tokenService = tokenService;
+    public SecurityFilter(VerifiedTokenCache verifiedTokenCache, UserDetailsService userDetailsService,
+                          TokenRevocationService tokenRevocationService, TokenVersionRegistry tokenVersionRegistry,
+                          @Value("${api.security.stateless-principal:true}") boolean statelessPrincipal) {
+        this.verifiedTokenCache = verifiedTokenCache;
         this.userDetailsService = userDetailsService;
-
+        this.tokenRevocationService = tokenRevocationService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.statelessPrincipal = statelessPrincipal;
     }
     /**
      * Implementación del filtro de seguridad para validar y establecer la autenticación basada en tokens JWT.
@@ -55,29 +83,60 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        System.out.println("authHeader = " + authHeader);
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            String username = tokenService.getUsernameFromToken(token);
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                System.out.println("Email autenticado desde security filter = " + userDetails);
-                if (tokenService.validateToken(token, userDetails)) {
-                    String role = tokenService.getRoleFromToken(token);
-                    System.out.println("Rol autenticado desde security filter= " + role);
-                    List<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
-                    System.out.println("authentication desde security filter= " + authentication);
+            TokenClaims claims = verifyOrNull(token);
+            if (claims != null && claims.isAccessToken() && !tokenVersionRegistry.isOutdated(claims)
+                    && !tokenRevocationService.isRevoked(claims.tokenId())
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                AuthenticatedUser principal = resolvePrincipal(claims);
+                if (principal != null) {
+                    List<GrantedAuthority> authorities = AUTHORITIES.get(principal.role());
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(principal, null, authorities);
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    System.out.println("Authentication set in SecurityContext");
-                    System.out.println("Request URI: " + request.getRequestURI());
-                    System.out.println("Request method: " + request.getMethod());
+                    log.debug("Usuario {} autenticado con rol {} para {} {}", principal.id(), principal.role(),
+                            request.getMethod(), request.getRequestURI());
                 }
             }
         }
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Verifica el token de la solicitud. Un token con firma inválida o expirado deja la solicitud sin autenticar,
+     * para que responda 401 en lugar de propagar la excepción del verificador.
+     *
+     * @param token Token JWT recibido en la solicitud
+     * @return Datos del token verificado, o null si el token no es válido
+     */
+    private TokenClaims verifyOrNull(String token) {
+        try {
+            return verifiedTokenCache.verify(token);
+        } catch (JWTVerificationException e) {
+            log.debug("Token rechazado: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Obtiene el principal de la solicitud a partir de los claims del token.
+     * En modo sin estado no se consulta la base de datos; en caso contrario se carga el usuario
+     * y se verifica que coincida con el sujeto del token.
+     *
+     * @param claims Datos del token verificado
+     * @return Principal autenticado, o null si el usuario no coincide con el token
+     */
+    private AuthenticatedUser resolvePrincipal(TokenClaims claims) {
+        if (statelessPrincipal) {
+            return AuthenticatedUser.from(claims);
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.subject());
+        if (!claims.subject().equals(userDetails.getUsername()) || !(userDetails instanceof User user)) {
+            return null;
+        }
+        return AuthenticatedUser.from(user);
+    }
+
 }
 
@@ -2,22 +2,36 @@ package io.justina.management.controller.appointment;
 
 
 import io.justina.management.dto.apiresponse.ApiResponse;
+import io.justina.management.dto.apiresponse.CursorPage;
+import io.justina.management.dto.appointment.AppointmentCancelDTO;
 import io.justina.management.dto.appointment.AppointmentDataRegisterDTO;
 import io.justina.management.dto.appointment.AppointmentResponseDTO;
-import io.justina.management.model.MedicalStaff;
-import io.justina.management.model.Patient;
+import io.justina.management.dto.appointment.AppointmentSearchDTO;
+import io.justina.management.dto.appointment.AppointmentStatisticsDTO;
+import io.justina.management.dto.appointment.AvailableSlotDTO;
+import io.justina.management.dto.appointment.BulkAppointmentResultDTO;
+import io.justina.management.enums.Specialty;
+import io.justina.management.service.Appointment.AppointmentChangeFeed;
+import io.justina.management.service.Appointment.AppointmentExportService;
 import io.justina.management.service.Appointment.AppointmentService;
-import io.justina.management.service.authentication.IAuthenticationService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 
 /**
@@ -31,99 +45,217 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("api/appointment")
 public class AppointmentController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     /**
      * Servicio de citas médicas.
      */
     private final AppointmentService appointmentService;
-    private final IAuthenticationService authenticationService;
+    /**
+     * Servicio de exportación de citas médicas.
+     */
+    private final AppointmentExportService appointmentExportService;
+    /**
+     * Canal de eventos con los cambios de citas médicas.
+     */
+    private final AppointmentChangeFeed appointmentChangeFeed;
     /**
      * Constructor que inicializa el controlador con el servicio de citas médicas.
      *
-     * @param appointmentService Servicio de citas médicas.
+     * @param appointmentService       Servicio de citas médicas.
+     * @param appointmentExportService Servicio de exportación de citas médicas.
+     * @param appointmentChangeFeed    Canal de eventos con los cambios de citas médicas.
      */
     @Autowired
-    public AppointmentController(AppointmentService appointmentService, IAuthenticationService authenticationService) {
+    public AppointmentController(AppointmentService appointmentService, AppointmentExportService appointmentExportService,
+                                 AppointmentChangeFeed appointmentChangeFeed) {
         this.appointmentService = appointmentService;
-        this.authenticationService = authenticationService;
+        this.appointmentExportService = appointmentExportService;
+        this.appointmentChangeFeed = appointmentChangeFeed;
     }
 
     /**
-     * Maneja la solicitud GET para obtener todas las citas médicas.
+     * Maneja la solicitud GET para obtener una página de citas médicas, ordenadas por fecha.
      *
-     * @return ResponseEntity con la lista de citas médicas y el estado HTTP correspondiente.
+     * @param cursor Cursor opaco devuelto en la página anterior; si se omite se devuelve la primera página.
+     * @param size   Tamaño de página, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return ResponseEntity con la página de citas médicas, el cursor siguiente y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get all appointments")
     @GetMapping
-    public ResponseEntity<ApiResponse<AppointmentResponseDTO>> findAll() {
+    public ResponseEntity<ApiResponse<AppointmentResponseDTO>> findAll(@RequestParam(required = false) String cursor,
+                                                                       @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
         try{
-            Iterable<AppointmentResponseDTO> appointmentList = appointmentService.getAllAppointments();
-            return new ResponseEntity<>(new ApiResponse<>(true, "Appointments found", appointmentList), HttpStatus.OK);
+            CursorPage<AppointmentResponseDTO> page = appointmentService.getAllAppointments(cursor, size);
+            return new ResponseEntity<>(ApiResponse.page("Appointments found", page), HttpStatus.OK);
         }catch (AccessDeniedException e){
             return new ResponseEntity<>(new ApiResponse<>(false, "Usuario no autorizado", null), HttpStatus.UNAUTHORIZED);
         }
     }
+    /**
+     * Maneja la solicitud GET para buscar citas médicas por rango de fechas, centro de atención, motivo,
+     * especialidad y estado.
+     *
+     * @param filters Filtros de búsqueda; los que se omiten no restringen el resultado.
+     * @param sort    Orden de los resultados ({@code date}, {@code healthCenter}, {@code reason} o {@code id}, con {@code ,asc} o {@code ,desc}).
+     * @param cursor  Cursor opaco devuelto en la página anterior; si se omite se devuelve la primera página.
+     * @param size    Tamaño de página, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return ResponseEntity con la página de citas médicas, el cursor siguiente y el estado HTTP correspondiente.
+     */
+    @Operation(summary = "Search appointments")
+    @GetMapping("/search")
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<ApiResponse<AppointmentResponseDTO>> search(@ModelAttribute AppointmentSearchDTO filters,
+                                                                      @RequestParam(required = false) String sort,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<AppointmentResponseDTO> page = appointmentService.searchAppointments(filters, sort, cursor, size);
+        return new ResponseEntity<>(ApiResponse.page("Appointments found", page), HttpStatus.OK);
+    }
+    /**
+     * Maneja la solicitud GET para contar las citas médicas que cumplen los filtros, sin devolverlas.
+     *
+     * @param filters Filtros de búsqueda; los que se omiten no restringen el resultado.
+     * @return ResponseEntity con la cantidad de citas médicas y el estado HTTP correspondiente.
+     */
+    @Operation(summary = "Count appointments matching the search filters")
+    @GetMapping("/search/count")
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<ApiResponse<Long>> count(@ModelAttribute AppointmentSearchDTO filters) {
+        long count = appointmentService.countAppointments(filters);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Appointments counted", count), HttpStatus.OK);
+    }
+    /**
+     * Maneja la solicitud GET para obtener la cantidad de citas activas por especialidad, centro de atención,
+     * motivo y día. Los valores se leen de contadores en memoria, sin consultar la base de datos.
+     *
+     * @param from Primer día incluido en el detalle por día; si se omite no se acota.
+     * @param to   Último día incluido en el detalle por día; si se omite no se acota.
+     * @return ResponseEntity con las estadísticas y el estado HTTP correspondiente.
+     */
+    @Operation(summary = "Get appointment statistics")
+    @GetMapping("/statistics")
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<ApiResponse<AppointmentStatisticsDTO>> statistics(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        AppointmentStatisticsDTO statistics = appointmentService.getStatistics(from, to);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Appointment statistics", statistics), HttpStatus.OK);
+    }
+    /**
+     * Maneja la solicitud GET para exportar todas las citas médicas en formato NDJSON.
+     * Las filas se escriben a medida que se leen de la base de datos, sin cargarlas en memoria.
+     *
+     * @param gzip Si es true, la respuesta se comprime con gzip.
+     * @return ResponseEntity con el cuerpo que escribe la exportación en la respuesta.
+     */
+    @Operation(summary = "Export all appointments as NDJSON")
+    @GetMapping("/export")
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "false") boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"turnos.ndjson" + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(outputStream -> appointmentExportService.exportNdjson(outputStream, gzip));
+    }
     /**
      * Maneja la solicitud GET para obtener todas las citas médicas de un paciente.
      *
-     * @param id Identificador del paciente.
+     * @param id   Identificador del paciente.
+     * @param from Fecha y hora desde la cual se buscan citas; si se omite se devuelve todo el historial.
      * @return ResponseEntity con la lista de citas médicas y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get all appointments by patient")
     @GetMapping("/getByPatient/{id}")
-    public ResponseEntity<ApiResponse<AppointmentResponseDTO>> getByPatient(@PathVariable Long id) {
+    @PreAuthorize("@access.isAdminOrPatient(#id)")
+    public ResponseEntity<ApiResponse<AppointmentResponseDTO>> getByPatient(@PathVariable Long id,
+                                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT"))) {
-                Patient patient = (Patient) authentication.getPrincipal();
-                if (!patient.getId().equals(id)) {
-                    return new ResponseEntity<>(new ApiResponse<>(false, "Usuario no autorizado", null), HttpStatus.UNAUTHORIZED);
-                }
-
-            }
-            boolean hasAccess = authenticationService.verifyUserAccess(id);
-            if (!hasAccess) {
-                return new ResponseEntity<>(new ApiResponse<>(false, "Usuario no autorizado", null), HttpStatus.UNAUTHORIZED);
-            }
-            Iterable<AppointmentResponseDTO> appointmentList = appointmentService.getAppointmentsByPatient(id);
+            Iterable<AppointmentResponseDTO> appointmentList = appointmentService.getAppointmentsByPatient(id, from);
             return new ResponseEntity<>(new ApiResponse<>(true, "Appointments found", appointmentList), HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             return new ResponseEntity<>(new ApiResponse<>(false, "Usuario no autorizado", null), HttpStatus.NOT_FOUND);
-        }catch (AccessDeniedException e){
-            return new ResponseEntity<>(new ApiResponse<>(false, "Usuario no autorizado", null), HttpStatus.UNAUTHORIZED);
         }
     }
     /**
      * Maneja la solicitud GET para obtener todas las citas médicas de un médico.
      *
-     * @param id Identificador del médico.
+     * @param id   Identificador del médico.
+     * @param from Fecha y hora desde la cual se buscan citas; si se omite se devuelve todo el historial.
      * @return ResponseEntity con la lista de citas médicas y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get all appointments by medical staff")
     @GetMapping("/getByMedicalStaff/{id}")
-    public ResponseEntity<ApiResponse<AppointmentResponseDTO>> getByMedicalStaff(@PathVariable Long id) {
+    @PreAuthorize("@access.isAdminOrDoctor(#id)")
+    public ResponseEntity<ApiResponse<AppointmentResponseDTO>> getByMedicalStaff(@PathVariable Long id,
+                                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("DOCTOR"))) {
-                MedicalStaff medicalStaff = (MedicalStaff) authentication.getPrincipal();
-                if (!medicalStaff.getId().equals(id)) {
-                    return new ResponseEntity<>(new ApiResponse<>(false, "Usuario no autorizado", null), HttpStatus.UNAUTHORIZED);
-                }
-            }
-            boolean hasAccess = authenticationService.verifyUserAccess(id);
-            if (!hasAccess) {
-                return new ResponseEntity<>(new ApiResponse<>(false, "Usuario no autorizado", null), HttpStatus.UNAUTHORIZED);
-            }
-            Iterable<AppointmentResponseDTO> appointmentList = appointmentService.getAppointmentsByMedicalStaff(id);
+            Iterable<AppointmentResponseDTO> appointmentList = appointmentService.getAppointmentsByMedicalStaff(id, from);
             return new ResponseEntity<>(new ApiResponse<>(true, "Appointments found", appointmentList), HttpStatus.OK);
 
         } catch (EntityNotFoundException e) {
             return new ResponseEntity<>(new ApiResponse<>(false, "Usuario no autorizado", null), HttpStatus.NOT_FOUND);
-        }catch (AccessDeniedException e){
-            return new ResponseEntity<>(new ApiResponse<>(false, "Usuario no autorizado", null), HttpStatus.UNAUTHORIZED);
         }
     }
+    /**
+     * Maneja la solicitud GET para obtener la agenda de un médico para un día.
+     * Las agendas se sirven desde una caché que se actualiza con cada alta o baja de turnos.
+     *
+     * @param id   Identificador del médico.
+     * @param date Día de la agenda; si se omite, el día actual.
+     * @return ResponseEntity con la lista de citas médicas del día y el estado HTTP correspondiente.
+     */
+    @Operation(summary = "Get the day agenda of a medical staff")
+    @GetMapping("/getAgenda/{id}")
+    @PreAuthorize("@access.isAdminOrDoctor(#id)")
+    public ResponseEntity<ApiResponse<AppointmentResponseDTO>> getAgenda(@PathVariable Long id,
+                                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<AppointmentResponseDTO> agenda = appointmentService.getAgenda(id, date != null ? date : LocalDate.now());
+        return new ResponseEntity<>(new ApiResponse<>(true, "Appointments found", agenda), HttpStatus.OK);
+    }
+    /**
+     * Maneja la solicitud GET para suscribirse a los cambios de citas médicas mediante server-sent events.
+     * Reemplaza el sondeo periódico de las listas: cada alta o cancelación confirmada se envía a los suscriptores
+     * cuyos filtros coinciden.
+     *
+     * @param idMedicalStaff Identificador del médico por el que se filtra.
+     * @param idPatient      Identificador del paciente por el que se filtra.
+     * @param healthCenter   Centro de atención por el que se filtra.
+     * @param lastEventId    ID del último evento recibido, enviado por el navegador al reconectarse.
+     * @return Emisor de eventos de la conexión.
+     */
+    @Operation(summary = "Subscribe to appointment changes")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("@access.canSubscribe(#idMedicalStaff, #idPatient)")
+    public SseEmitter stream(@RequestParam(required = false) Long idMedicalStaff,
+                             @RequestParam(required = false) Long idPatient,
+                             @RequestParam(required = false) String healthCenter,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return appointmentChangeFeed.subscribe(new AppointmentChangeFeed.Subscription(idMedicalStaff, idPatient,
+                healthCenter == null || healthCenter.isBlank() ? null : healthCenter.trim()), lastEventId);
+    }
+    /**
+     * Maneja la solicitud GET para buscar los primeros turnos libres de una especialidad en un centro de atención.
+     *
+     * @param specialty    Especialidad buscada.
+     * @param healthCenter Centro de atención.
+     * @param from         Fecha y hora a partir de la cual se busca; si se omite, desde ahora.
+     * @param days         Cantidad de días a recorrer.
+     * @param limit        Cantidad máxima de turnos a devolver.
+     * @return ResponseEntity con la lista de turnos libres y el estado HTTP correspondiente.
+     */
+    @Operation(summary = "Find the earliest free slots by specialty and health center")
+    @GetMapping("/availability")
+    public ResponseEntity<ApiResponse<AvailableSlotDTO>> findAvailableSlots(@RequestParam Specialty specialty,
+                                                                            @RequestParam String healthCenter,
+                                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                            @RequestParam(defaultValue = "7") int days,
+                                                                            @RequestParam(defaultValue = "10") int limit) {
+        List<AvailableSlotDTO> slots = appointmentService.findAvailableSlots(specialty, healthCenter, from, days, limit);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Available slots found", slots), HttpStatus.OK);
+    }
     /**
      * Maneja la solicitud POST para registrar una nueva cita médica.
      *
@@ -142,16 +274,47 @@ public class AppointmentController {
             return new ResponseEntity<>(new ApiResponse<>(false, "Access is denied", null), HttpStatus.FORBIDDEN);
         }
     }
+    /**
+     * Maneja la solicitud POST para registrar varias citas médicas a la vez.
+     * Cada cita se valida por separado; la respuesta indica, en el mismo orden, cuáles se registraron y por qué fallaron las demás.
+     *
+     * @param appointments Lista de citas médicas a registrar.
+     * @return ResponseEntity con el resultado de cada cita y el estado HTTP correspondiente.
+     */
+    @Operation(summary = "Register appointments in bulk")
+    @PostMapping("/bulk")
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<ApiResponse<BulkAppointmentResultDTO>> registerBulk(@RequestBody List<AppointmentDataRegisterDTO> appointments) {
+        List<BulkAppointmentResultDTO> results = appointmentService.registerAppointments(appointments);
+        long created = results.stream().filter(BulkAppointmentResultDTO::success).count();
+        return new ResponseEntity<>(new ApiResponse<>(true, created + " of " + results.size() + " appointments created", results), HttpStatus.OK);
+    }
+
+    /**
+     * Maneja la solicitud POST para cancelar en bloque las citas activas de un médico, un centro de atención
+     * o un rango de fechas.
+     *
+     * @param filters Filtros de la cancelación; debe indicarse al menos uno.
+     * @return ResponseEntity con la cantidad de citas canceladas y el estado HTTP correspondiente.
+     */
+    @Operation(summary = "Cancel appointments in bulk")
+    @PostMapping("/cancel")
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<ApiResponse<Integer>> cancelBulk(@RequestBody AppointmentCancelDTO filters) {
+        int cancelled = appointmentService.cancelAppointments(filters);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Appointments cancelled", cancelled), HttpStatus.OK);
+    }
 
     /**
-     * Maneja la solicitud DELETE para eliminar una cita médica.
-     * @param id    Identificador de la cita médica a eliminar.
+     * Maneja la solicitud DELETE para cancelar una cita médica.
+     * La cita se conserva como inactiva para mantener el historial.
+     * @param id    Identificador de la cita médica a cancelar.
      * @return ResponseEntity con el estado HTTP correspondiente.
      */
-    @Operation(summary = "Delete an appointment")
+    @Operation(summary = "Cancel an appointment")
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        appointmentService.deleteAppointment(id);
+        appointmentService.cancelAppointment(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 }
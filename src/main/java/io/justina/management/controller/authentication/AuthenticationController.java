@@ -2,11 +2,14 @@ package io.justina.management.controller.authentication;
 
 
 import io.justina.management.dto.jwttoken.DataJWTTokenDTO;
+import io.justina.management.dto.jwttoken.RefreshTokenRequestDTO;
 import io.justina.management.dto.user.UserAuthenticateDataDTO;
 import io.justina.management.service.authentication.IAuthenticationService;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -37,13 +40,44 @@ public class AuthenticationController {
      * Endpoint para autenticar un usuario.
      *
      * @param userAuthenticateDataDTO Datos del usuario para autenticación
+     * @param request                 Solicitud HTTP, usada para obtener la dirección IP del cliente
      * @return ResponseEntity con el token JWT generado
      */
     @Operation(summary = "Authenticate user")
     @PostMapping
-    public ResponseEntity<DataJWTTokenDTO> authenticate(@RequestBody @Valid UserAuthenticateDataDTO userAuthenticateDataDTO){
-        DataJWTTokenDTO dataJWTTokenDTO = authenticationService.authenticate(userAuthenticateDataDTO);
+    public ResponseEntity<DataJWTTokenDTO> authenticate(@RequestBody @Valid UserAuthenticateDataDTO userAuthenticateDataDTO,
+                                                        HttpServletRequest request){
+        DataJWTTokenDTO dataJWTTokenDTO = authenticationService.authenticate(userAuthenticateDataDTO, request.getRemoteAddr());
         return ResponseEntity.ok(dataJWTTokenDTO);
     }
+
+    /**
+     * Endpoint para obtener un nuevo token de acceso a partir de un token de renovación.
+     *
+     * @param refreshTokenRequestDTO Token de renovación del cliente
+     * @return ResponseEntity con el nuevo par de tokens
+     */
+    @Operation(summary = "Refresh access token")
+    @PostMapping("/refresh")
+    public ResponseEntity<DataJWTTokenDTO> refresh(@RequestBody @Valid RefreshTokenRequestDTO refreshTokenRequestDTO){
+        return ResponseEntity.ok(authenticationService.refresh(refreshTokenRequestDTO.refreshToken()));
+    }
+
+    /**
+     * Endpoint para cerrar la sesión, revocando el token de acceso actual y el token de renovación.
+     *
+     * @param refreshTokenRequestDTO Token de renovación del cliente
+     * @param request                Solicitud HTTP, usada para obtener el token de acceso
+     * @return ResponseEntity sin contenido
+     */
+    @Operation(summary = "Logout user")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody @Valid RefreshTokenRequestDTO refreshTokenRequestDTO,
+                                       HttpServletRequest request){
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        authenticationService.logout(accessToken, refreshTokenRequestDTO.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
 
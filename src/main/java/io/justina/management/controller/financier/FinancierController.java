@@ -1,5 +1,7 @@
 package io.justina.management.controller.financier;
 
+import io.justina.management.dto.apiresponse.ApiResponse;
+import io.justina.management.dto.apiresponse.CursorPage;
 import io.justina.management.dto.financier.FinancierRegisterDTO;
 import io.justina.management.dto.financier.FinancierResponseDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,7 +12,6 @@ import org.springframework.web.bind.annotation.*;
 
 import io.justina.management.service.financier.IFinancierService;
 
-import java.util.List;
 import java.util.UUID;
 /**
  * Controlador REST que maneja las operaciones relacionadas con los financieros.
@@ -35,14 +36,17 @@ public class FinancierController {
     }
 
     /**
-     * Maneja la solicitud GET para obtener todos los financieros.
+     * Maneja la solicitud GET para obtener una página de financieros, ordenados por ID.
      *
-     * @return ResponseEntity con la lista de financieros y el estado HTTP correspondiente.
+     * @param cursor Cursor opaco devuelto en la página anterior; si se omite se devuelve la primera página.
+     * @param size   Tamaño de página, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return ResponseEntity con la página de financieros, el cursor siguiente y el estado HTTP correspondiente.
      */
     @Operation(summary = "Get all financiers")
     @GetMapping
-    public ResponseEntity<List<FinancierResponseDTO>> getAllFinanciers() {
-        return ResponseEntity.ok(financierService.getAllFinanciers());
+    public ResponseEntity<ApiResponse<FinancierResponseDTO>> getAllFinanciers(@RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(ApiResponse.page("Financiers found", financierService.getAllFinanciers(cursor, size)));
     }
 
     /**
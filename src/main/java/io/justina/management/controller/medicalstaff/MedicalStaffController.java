@@ -1,22 +1,25 @@
 package io.justina.management.controller.medicalstaff;
 
 import io.justina.management.dto.apiresponse.ApiResponse;
+import io.justina.management.dto.apiresponse.CursorPage;
 import io.justina.management.dto.medicalstaff.MedicalStaffRegisterDTO;
 import io.justina.management.dto.medicalstaff.MedicalStaffResponseDTO;
-import io.justina.management.model.MedicalStaff;
-import io.justina.management.service.authentication.AuthenticationService;
+import io.justina.management.dto.medicalstaff.WorkingHoursRegisterDTO;
+import io.justina.management.dto.medicalstaff.WorkingHoursResponseDTO;
 import io.justina.management.service.medicalstaff.IMedicalStaffService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 
 /**
  * Controlador REST que maneja las operaciones relacionadas con el personal médico.
@@ -24,6 +27,7 @@ import org.springframework.web.bind.annotation.*;
  * <p>Este controlador maneja las solicitudes REST para operaciones CRUD sobre el personal médico,
  * utilizando la ruta base "/v1/api/medical-staff".
  */
+@Slf4j
 @RestController
 @RequestMapping("api/medical")
 public class MedicalStaffController {
@@ -32,20 +36,14 @@ public class MedicalStaffController {
      * Servicio de personal médico que implementa la lógica de negocio.
      */
     private final IMedicalStaffService medicalStaffService;
-    /**
-     * Servicio de autenticación y autorización para verificar accesos.
-     */
-    private final AuthenticationService authenticationService;
     /**
      * Constructor que inyecta los servicios requeridos por el controlador.
      *
      * @param medicalStaffService Servicio de personal médico que implementa la lógica de negocio.
-     * @param authenticationService Servicio de autenticación y autorización para verificar accesos.
      */
     @Autowired
-    public MedicalStaffController(IMedicalStaffService medicalStaffService, AuthenticationService authenticationService){
+    public MedicalStaffController(IMedicalStaffService medicalStaffService){
         this.medicalStaffService = medicalStaffService;
-        this.authenticationService = authenticationService;
     }
     /**
      * Maneja la solicitud POST para registrar un nuevo personal médico.
@@ -67,31 +65,37 @@ public class MedicalStaffController {
     }
 
     /**
-     * Maneja la solicitud GET para obtener todos los miembros del personal médico.
+     * Maneja la solicitud GET para obtener una página de los miembros del personal médico.
      *
-     * @return ResponseEntity con la lista de personal médico y el estado HTTP correspondiente.
+     * @param cursor Cursor opaco devuelto en la página anterior; si se omite se devuelve la primera página.
+     * @param size   Tamaño de página, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return ResponseEntity con la página de personal médico, el cursor siguiente y el estado HTTP correspondiente.
      */
     @GetMapping
     @Operation(summary = "Get all medical staff")
-    public ResponseEntity<ApiResponse<MedicalStaffResponseDTO>> getAllMedicalStaff(){
+    public ResponseEntity<ApiResponse<MedicalStaffResponseDTO>> getAllMedicalStaff(@RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size){
         try{
-            Iterable<MedicalStaffResponseDTO> medicalStaffList = medicalStaffService.getAllMedicalStaff();
-            return new ResponseEntity<>(new ApiResponse<>(true, "Medical staff found", medicalStaffList), HttpStatus.OK);
+            CursorPage<MedicalStaffResponseDTO> page = medicalStaffService.getAllMedicalStaff(cursor, size);
+            return new ResponseEntity<>(ApiResponse.page("Medical staff found", page), HttpStatus.OK);
         }catch (AccessDeniedException e){
             return new ResponseEntity<>(new ApiResponse<>(false, "Access is denied", null), HttpStatus.UNAUTHORIZED);
         }
     }
     /**
-     * Maneja la solicitud GET para obtener todos los miembros activos del personal médico.
+     * Maneja la solicitud GET para obtener una página de los miembros activos del personal médico.
      *
-     * @return ResponseEntity con la lista de personal médico activo y el estado HTTP correspondiente.
+     * @param cursor Cursor opaco devuelto en la página anterior; si se omite se devuelve la primera página.
+     * @param size   Tamaño de página, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return ResponseEntity con la página de personal médico activo, el cursor siguiente y el estado HTTP correspondiente.
      */
     @GetMapping("/getActive")
     @Operation(summary = "Get all active medical staff")
-    public ResponseEntity<ApiResponse<MedicalStaffResponseDTO>> getMedicalStaffByActive(){
+    public ResponseEntity<ApiResponse<MedicalStaffResponseDTO>> getMedicalStaffByActive(@RequestParam(required = false) String cursor,
+                                                                                        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size){
         try{
-            Iterable<MedicalStaffResponseDTO> medicalStaffList = medicalStaffService.getMedicalStaffByActive();
-            return new ResponseEntity<>(new ApiResponse<>(true, "Medical staff found", medicalStaffList), HttpStatus.OK);
+            CursorPage<MedicalStaffResponseDTO> page = medicalStaffService.getMedicalStaffByActive(cursor, size);
+            return new ResponseEntity<>(ApiResponse.page("Medical staff found", page), HttpStatus.OK);
         }catch (AccessDeniedException e){
             return new ResponseEntity<>(new ApiResponse<>(false, "Access is denied", null), HttpStatus.UNAUTHORIZED);
         }
@@ -108,27 +112,16 @@ public class MedicalStaffController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get medical staff by id")
+    @PreAuthorize("@access.isAdminOrDoctor(#id)")
     public ResponseEntity <ApiResponse<MedicalStaffResponseDTO>> getMedicalStaffById(@PathVariable Long id) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_DOCTOR"))) {
-                MedicalStaff medicalStaff = (MedicalStaff) authentication.getPrincipal();
-                if (!medicalStaff.getId().equals(id)) {
-                    return new ResponseEntity<>(new ApiResponse<>(false, "Access is denied", null), HttpStatus.FORBIDDEN);
-                }
-            }
-            boolean hasAccess = authenticationService.verifyUserAccess(id);
-            if (!hasAccess) {
-                return new ResponseEntity<>(new ApiResponse<>(false, "Access is denied", null), HttpStatus.FORBIDDEN);
-            }
             MedicalStaffResponseDTO medicalStaffDTO = medicalStaffService.getMedicalStaffById(id);
             return new ResponseEntity<>(new ApiResponse<>(true, "Medical staff found", medicalStaffDTO), HttpStatus.OK);
         }catch (EntityNotFoundException e) {
-            System.out.println("Controller: Patient not found - " + e.getMessage());
+            log.debug("Personal médico no encontrado: {}", e.getMessage());
             return new ResponseEntity<>(new ApiResponse<>(false, "Patient not found", null), HttpStatus.NOT_FOUND);
         } catch (AccessDeniedException e) {
-            System.out.println("Controller: Access denied - " + e.getMessage());
+            log.debug("Acceso denegado: {}", e.getMessage());
             return new ResponseEntity<>(new ApiResponse<>(false, "Access is denied", null), HttpStatus.FORBIDDEN);
         }
     }
@@ -141,13 +134,40 @@ public class MedicalStaffController {
      */
     @DeleteMapping("delete/{id}")
     @Operation(summary = "Deactivate medical staff by id")
+    @PreAuthorize("@access.isAdmin()")
     public ResponseEntity<Void> deactivateMedicalStaff(@PathVariable Long id){
         try {
-            authenticationService.verifyUserAccess(id);
             medicalStaffService.deactivateMedicalStaff(id);
             return ResponseEntity.ok().build();
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
+    /**
+     * Maneja la solicitud POST para agregar una franja al horario de atención de un miembro del personal médico.
+     *
+     * @param id                      id del personal médico.
+     * @param workingHoursRegisterDTO DTO con los datos de la franja.
+     * @return ResponseEntity con la franja registrada y el estado HTTP correspondiente.
+     */
+    @PostMapping("/{id}/working-hours")
+    @Operation(summary = "Add working hours to a medical staff")
+    @PreAuthorize("@access.isAdmin()")
+    public ResponseEntity<ApiResponse<WorkingHoursResponseDTO>> addWorkingHours(@PathVariable Long id,
+                                                                                @RequestBody @Valid WorkingHoursRegisterDTO workingHoursRegisterDTO) {
+        WorkingHoursResponseDTO workingHours = medicalStaffService.addWorkingHours(id, workingHoursRegisterDTO);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Working hours registered", workingHours), HttpStatus.CREATED);
+    }
+    /**
+     * Maneja la solicitud GET para obtener el horario de atención de un miembro del personal médico.
+     *
+     * @param id id del personal médico.
+     * @return ResponseEntity con la lista de franjas y el estado HTTP correspondiente.
+     */
+    @GetMapping("/{id}/working-hours")
+    @Operation(summary = "Get working hours of a medical staff")
+    public ResponseEntity<ApiResponse<WorkingHoursResponseDTO>> getWorkingHours(@PathVariable Long id) {
+        List<WorkingHoursResponseDTO> workingHours = medicalStaffService.getWorkingHours(id);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Working hours found", workingHours), HttpStatus.OK);
+    }
 }
@@ -1,20 +1,19 @@
 package io.justina.management.controller.patient;
 
 import io.justina.management.dto.apiresponse.ApiResponse;
+import io.justina.management.dto.apiresponse.CursorPage;
 import io.justina.management.dto.patient.PatientRequestDTO;
 import io.justina.management.dto.patient.PatientResponseDTO;
-import io.justina.management.model.Patient;
-import io.justina.management.service.authentication.IAuthenticationService;
 import io.justina.management.service.patient.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
@@ -24,29 +23,31 @@ import org.springframework.web.bind.annotation.*;
  * <p>Este controlador maneja las solicitudes REST para operaciones CRUD sobre los pacientes,
  * utilizando la ruta base "api/patient".
  */
+@Slf4j
 @RestController
 @RequestMapping("api/patient")
 public class PatientController {
 
     private final PatientService patientService;
-    private final IAuthenticationService authenticationService;
 
     @Autowired
-    public PatientController(PatientService patientService, IAuthenticationService authenticationService) {
+    public PatientController(PatientService patientService) {
             this.patientService = patientService;
-            this.authenticationService = authenticationService;
         }
         /**
-         * Maneja la solicitud GET para obtener todos los pacientes.
+         * Maneja la solicitud GET para obtener una página de pacientes, ordenados por ID.
          *
-         * @return ResponseEntity con la lista de pacientes y el estado HTTP correspondiente.
+         * @param cursor Cursor opaco devuelto en la página anterior; si se omite se devuelve la primera página.
+         * @param size   Tamaño de página, acotado a {@link CursorPage#MAX_SIZE}.
+         * @return ResponseEntity con la página de pacientes, el cursor siguiente y el estado HTTP correspondiente.
          */
         @Operation(summary = "Get all patients")
         @GetMapping
-        public ResponseEntity<ApiResponse<PatientResponseDTO>> findAll () {
+        public ResponseEntity<ApiResponse<PatientResponseDTO>> findAll (@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
             try{
-                Iterable<PatientResponseDTO> patientList = patientService.getAllPatients();
-                return new ResponseEntity<>(new ApiResponse<>(true, "Patients found", patientList), HttpStatus.OK);
+                CursorPage<PatientResponseDTO> page = patientService.getAllPatients(cursor, size);
+                return new ResponseEntity<>(ApiResponse.page("Patients found", page), HttpStatus.OK);
             }catch (AccessDeniedException e){
                 return new ResponseEntity<>(new ApiResponse<>(false, "Usuario no autorizado", null), HttpStatus.UNAUTHORIZED);
             }
@@ -60,37 +61,16 @@ public class PatientController {
          */
         @Operation(summary = "Get a patient by ID")
         @GetMapping("/{id}")
+        @PreAuthorize("@access.isAdminOrPatient(#id)")
         public ResponseEntity<ApiResponse<PatientResponseDTO>> findById(@PathVariable Long id) {
             try {
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                System.out.println("Controller: User authorities = " + authentication.getAuthorities());
-                System.out.println("Controller: Requested patient ID = " + id);
-
-                if (authentication.getAuthorities().stream()
-                        .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT"))) {
-                    Patient patient = (Patient) authentication.getPrincipal();
-                    System.out.println("Controller: Authenticated patient ID = " + patient.getId());
-                    if (!patient.getId().equals(id)) {
-                        System.out.println("Controller: Access denied - Patient trying to access another patient's data");
-                        return new ResponseEntity<>(new ApiResponse<>(false, "Access is denied", null), HttpStatus.FORBIDDEN);
-                    }
-                }
-
-                boolean hasAccess = authenticationService.verifyUserAccess(id);
-                System.out.println("Controller: verifyUserAccess result = " + hasAccess);
-
-                if (!hasAccess) {
-                    System.out.println("Controller: Access denied by verifyUserAccess");
-                    return new ResponseEntity<>(new ApiResponse<>(false, "Access is denied", null), HttpStatus.FORBIDDEN);
-                }
-
                 PatientResponseDTO patientDTO = patientService.getPatientById(id);
                 return new ResponseEntity<>(new ApiResponse<>(true, "Patient found", patientDTO), HttpStatus.OK);
             } catch (EntityNotFoundException e) {
-                System.out.println("Controller: Patient not found - " + e.getMessage());
+                log.debug("Paciente no encontrado: {}", e.getMessage());
                 return new ResponseEntity<>(new ApiResponse<>(false, "Patient not found", null), HttpStatus.NOT_FOUND);
             } catch (AccessDeniedException e) {
-                System.out.println("Controller: Access denied - " + e.getMessage());
+                log.debug("Acceso denegado: {}", e.getMessage());
                 return new ResponseEntity<>(new ApiResponse<>(false, "Access is denied", null), HttpStatus.FORBIDDEN);
             }
         }
@@ -10,14 +10,28 @@ public record ApiResponse<T>(
 
         T data,
 
-        Iterable<T> dataIterable
+        Iterable<T> dataIterable,
+
+        String nextCursor
 ) implements Serializable {
 
     public ApiResponse(boolean estado, String message, T data) {
-        this(estado, message, data, null);
+        this(estado, message, data, null, null);
     }
 
     public ApiResponse(boolean estado, String message, Iterable<T> dataIterable) {
-        this(estado, message, null, dataIterable);
+        this(estado, message, null, dataIterable, null);
+    }
+
+    /**
+     * Construye una respuesta exitosa con una página de resultados y el cursor para pedir la siguiente.
+     *
+     * @param message Mensaje de la respuesta.
+     * @param page    Página de resultados.
+     * @param <T>     Tipo de los elementos.
+     * @return Respuesta con los elementos de la página y el cursor siguiente.
+     */
+    public static <T> ApiResponse<T> page(String message, CursorPage<T> page) {
+        return new ApiResponse<>(true, message, null, page.items(), page.nextCursor());
     }
 }
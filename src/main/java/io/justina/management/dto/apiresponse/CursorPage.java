@@ -0,0 +1,59 @@
+package io.justina.management.dto.apiresponse;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Record que representa una página de resultados obtenida con paginación por cursor (keyset).
+ *
+ * @param items      Elementos de la página.
+ * @param nextCursor Cursor opaco para pedir la página siguiente, o null si no hay más resultados.
+ * @param <T>        Tipo de los elementos.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+
+    /**
+     * Tamaño de página usado cuando el cliente no indica uno.
+     */
+    public static final int DEFAULT_SIZE = 50;
+
+    /**
+     * Tamaño de página máximo permitido.
+     */
+    public static final int MAX_SIZE = 200;
+
+    /**
+     * Ajusta el tamaño de página solicitado al rango permitido.
+     *
+     * @param requested Tamaño solicitado por el cliente.
+     * @return Tamaño entre 1 y {@link #MAX_SIZE}.
+     */
+    public static int clampSize(int requested) {
+        if (requested < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    /**
+     * Construye una página a partir de una consulta que pidió un elemento más que el tamaño de página.
+     * Si ese elemento extra existe, hay una página siguiente y su cursor se calcula con el último elemento devuelto.
+     *
+     * @param rows         Resultados de la consulta, hasta {@code size + 1} elementos.
+     * @param size         Tamaño de la página.
+     * @param mapper       Conversión de cada resultado al elemento de la página.
+     * @param cursorOf     Cálculo del cursor a partir del último resultado de la página.
+     * @param <E>          Tipo de los resultados de la consulta.
+     * @param <T>          Tipo de los elementos de la página.
+     * @return Página con los elementos convertidos y el cursor siguiente.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+}
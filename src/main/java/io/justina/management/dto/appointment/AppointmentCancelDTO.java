@@ -0,0 +1,34 @@
+package io.justina.management.dto.appointment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Clase que representa los filtros de una cancelación masiva de citas médicas.
+ * Se cancelan las citas activas que cumplen todos los filtros indicados; debe indicarse al menos uno.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentCancelDTO implements Serializable {
+    /**
+     * ID del personal médico.
+     */
+    private Long idMedicalStaff;
+    /**
+     * Centro de atención.
+     */
+    private String healthCenter;
+    /**
+     * Fecha y hora desde la cual se cancelan citas (incluida).
+     */
+    private LocalDateTime from;
+    /**
+     * Fecha y hora hasta la cual se cancelan citas (no incluida).
+     */
+    private LocalDateTime to;
+}
@@ -0,0 +1,37 @@
+package io.justina.management.dto.appointment;
+
+import io.justina.management.enums.AppointmentChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record que representa un cambio de una cita médica enviado a los suscriptores del canal de eventos.
+ *
+ * @param type           Tipo de cambio.
+ * @param id             Identificador de la cita.
+ * @param idMedicalStaff Identificador del profesional.
+ * @param idPatient      Identificador del paciente.
+ * @param healthCenter   Centro de atención.
+ * @param date           Fecha y hora de la cita.
+ */
+public record AppointmentChangeEventDTO(
+        AppointmentChangeType type,
+        Long id,
+        Long idMedicalStaff,
+        Long idPatient,
+        String healthCenter,
+        LocalDateTime date
+) {
+
+    /**
+     * Construye el evento a partir del DTO de respuesta de la cita.
+     *
+     * @param type        Tipo de cambio.
+     * @param appointment Cita registrada o modificada.
+     * @return Evento con los datos de la cita.
+     */
+    public static AppointmentChangeEventDTO of(AppointmentChangeType type, AppointmentResponseDTO appointment) {
+        return new AppointmentChangeEventDTO(type, appointment.id(), appointment.idMedicalStaff(), appointment.idPatient(),
+                appointment.healthCenter(), appointment.date());
+    }
+}
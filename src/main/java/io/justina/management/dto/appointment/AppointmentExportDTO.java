@@ -0,0 +1,41 @@
+package io.justina.management.dto.appointment;
+
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record plano que representa una fila de la exportación de turnos.
+ * Se construye directamente en la consulta, sin cargar entidades, para que la exportación use memoria constante.
+ *
+ * @param id                   Identificador del turno.
+ * @param date                 Fecha y hora del turno.
+ * @param healthCenter         Centro de atención.
+ * @param reason               Motivo del turno.
+ * @param description          Descripción del turno.
+ * @param active               Estado del turno.
+ * @param idPatient            Identificador del paciente.
+ * @param firstNamePatient     Nombre del paciente.
+ * @param lastNamePatient      Apellido del paciente.
+ * @param idMedicalStaff       Identificador del profesional.
+ * @param firstNameMedicalStaff Nombre del profesional.
+ * @param lastNameMedicalStaff Apellido del profesional.
+ * @param specialty            Especialidad del profesional.
+ */
+public record AppointmentExportDTO(
+        Long id,
+        LocalDateTime date,
+        String healthCenter,
+        ReasonAppointmentEnum reason,
+        String description,
+        Boolean active,
+        Long idPatient,
+        String firstNamePatient,
+        String lastNamePatient,
+        Long idMedicalStaff,
+        String firstNameMedicalStaff,
+        String lastNameMedicalStaff,
+        Specialty specialty
+) {
+}
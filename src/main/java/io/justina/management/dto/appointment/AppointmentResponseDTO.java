@@ -1,62 +1,56 @@
 package io.justina.management.dto.appointment;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
 /**
- * Clase que representa el objeto de transferencia de datos para la respuesta de una cita médica.
+ * Record que representa el objeto de transferencia de datos para la respuesta de una cita médica.
+ * Las consultas de lectura lo construyen directamente con expresiones de constructor JPQL,
+ * seleccionando solo las columnas devueltas.
+ *
+ * @param id                   Identificador de la cita médica.
+ * @param idPatient            Identificador del paciente.
+ * @param fullNamePatient      Nombre del paciente.
+ * @param idMedicalStaff       Identificador del profesional.
+ * @param fullNameMedicalStaff Nombre del profesional.
+ * @param specialty            Especialidad del profesional.
+ * @param reason               Motivo de la cita.
+ * @param description          Descripción de la cita.
+ * @param healthCenter         Centro de salud.
+ * @param date                 Fecha de la cita.
+ * @param active               Estado de la cita.
  */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class AppointmentResponseDTO implements Serializable {
-    /**
-     * Identificador de la cita médica.
-     */
-    private Long id;
-    /**
-     * Identificador del paciente.
-     */
-    private Long idPatient;
-    /**
-     * Nombre del paciente.
-     */
-    private String fullNamePatient;
-    /**
-     * Identificador del profesional.
-     */
-    private Long idMedicalStaff;
-    /**
-     * Nombre del profesional.
-     */
-    private String fullNameMedicalStaff;
-    /**
-     * Especialidad del profesional.
-     */
-    private String specialty;
-    /**
-     * Motivo de la cita.
-     */
-    private String reason;
-    /**
-     * Descripción de la cita.
-     */
-    private String description;
-    /**
-     * Centro de salud.
-     */
-    private String healthCenter;
-    /**
-     * Fecha de la cita.
-     */
-    private LocalDateTime date;
-    /**
-     * Estado de la cita.
-     */
-    private Boolean active;
+public record AppointmentResponseDTO(
+        Long id,
+        Long idPatient,
+        String fullNamePatient,
+        Long idMedicalStaff,
+        String fullNameMedicalStaff,
+        String specialty,
+        String reason,
+        String description,
+        String healthCenter,
+        LocalDateTime date,
+        Boolean active
+) implements Serializable {
 
+    /**
+     * Constructor usado por las expresiones de constructor de las consultas, que reciben nombres y apellidos
+     * por separado y los enumerados tal como están mapeados en las entidades.
+     */
+    public AppointmentResponseDTO(Long id,
+                                  Long idPatient, String firstNamePatient, String lastNamePatient,
+                                  Long idMedicalStaff, String firstNameMedicalStaff, String lastNameMedicalStaff,
+                                  Specialty specialty, ReasonAppointmentEnum reason,
+                                  String description, String healthCenter, LocalDateTime date, Boolean active) {
+        this(id,
+                idPatient, firstNamePatient + " " + lastNamePatient,
+                idMedicalStaff, firstNameMedicalStaff + " " + lastNameMedicalStaff,
+                specialty != null ? specialty.name() : null,
+                reason != null ? reason.name() : null,
+                description, healthCenter, date, active);
+    }
 }
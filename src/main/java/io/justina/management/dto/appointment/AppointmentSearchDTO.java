@@ -0,0 +1,47 @@
+package io.justina.management.dto.appointment;
+
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Clase que representa los filtros de búsqueda de citas médicas.
+ * Todos los filtros son opcionales; los que se omiten no restringen el resultado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentSearchDTO implements Serializable {
+    /**
+     * Fecha y hora desde la cual se buscan citas (incluida).
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    /**
+     * Fecha y hora hasta la cual se buscan citas (no incluida).
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+    /**
+     * Centro de atención.
+     */
+    private String healthCenter;
+    /**
+     * Motivo de la cita.
+     */
+    private ReasonAppointmentEnum reason;
+    /**
+     * Especialidad del profesional.
+     */
+    private Specialty specialty;
+    /**
+     * Estado de la cita.
+     */
+    private Boolean active;
+}
@@ -0,0 +1,26 @@
+package io.justina.management.dto.appointment;
+
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Record que representa las estadísticas de citas médicas activas.
+ *
+ * @param total          Cantidad total de citas activas.
+ * @param bySpecialty    Cantidad de citas por especialidad del profesional.
+ * @param byHealthCenter Cantidad de citas por centro de atención.
+ * @param byReason       Cantidad de citas por motivo.
+ * @param byDay          Cantidad de citas por día, ordenada por fecha.
+ */
+public record AppointmentStatisticsDTO(
+        long total,
+        Map<Specialty, Long> bySpecialty,
+        Map<String, Long> byHealthCenter,
+        Map<ReasonAppointmentEnum, Long> byReason,
+        SortedMap<LocalDate, Long> byDay
+) {
+}
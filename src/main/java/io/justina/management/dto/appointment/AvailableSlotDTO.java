@@ -0,0 +1,19 @@
+package io.justina.management.dto.appointment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record que representa un turno libre de un profesional.
+ *
+ * @param date                 Fecha y hora de inicio del turno libre.
+ * @param idMedicalStaff       Identificador del profesional.
+ * @param fullNameMedicalStaff Nombre completo del profesional.
+ * @param healthCenter         Centro de atención.
+ */
+public record AvailableSlotDTO(
+        LocalDateTime date,
+        Long idMedicalStaff,
+        String fullNameMedicalStaff,
+        String healthCenter
+) {
+}
@@ -0,0 +1,25 @@
+package io.justina.management.dto.appointment;
+
+/**
+ * Record que representa el resultado del registro de un turno dentro de una carga masiva.
+ *
+ * @param index   Posición del turno en la lista recibida.
+ * @param success Indica si el turno se registró.
+ * @param id      Identificador del turno registrado, o null si no se registró.
+ * @param error   Motivo por el que no se registró, o null si se registró.
+ */
+public record BulkAppointmentResultDTO(
+        int index,
+        boolean success,
+        Long id,
+        String error
+) {
+
+    public static BulkAppointmentResultDTO created(int index, Long id) {
+        return new BulkAppointmentResultDTO(index, true, id, null);
+    }
+
+    public static BulkAppointmentResultDTO failed(int index, String error) {
+        return new BulkAppointmentResultDTO(index, false, null, error);
+    }
+}
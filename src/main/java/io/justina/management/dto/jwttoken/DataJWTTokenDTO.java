@@ -1,8 +1,10 @@
 package io.justina.management.dto.jwttoken;
 /**
- * Record que representa un DTO (Data Transfer Object) para almacenar un token JWT.
+ * Record que representa un DTO (Data Transfer Object) para almacenar un token JWT de acceso
+ * y el token de renovación con el que se obtiene uno nuevo al expirar.
  */
 public record DataJWTTokenDTO(
-        String jwtToken
+        String jwtToken,
+        String refreshToken
 ) {
 }
@@ -0,0 +1,12 @@
+package io.justina.management.dto.jwttoken;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Record que representa un DTO (Data Transfer Object) con el token de renovación enviado por el cliente.
+ */
+public record RefreshTokenRequestDTO(
+        @NotBlank(message = "El token de renovación es obligatorio")
+        String refreshToken
+) {
+}
@@ -0,0 +1,40 @@
+package io.justina.management.dto.medicalstaff;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa una franja del horario de atención a registrar.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkingHoursRegisterDTO implements Serializable {
+    /**
+     * Día de la semana de la franja.
+     */
+    @NotNull(message = "El día de la semana es obligatorio")
+    private DayOfWeek dayOfWeek;
+    /**
+     * Hora de inicio de la franja.
+     */
+    @NotNull(message = "La hora de inicio es obligatoria")
+    private LocalTime startTime;
+    /**
+     * Hora de fin de la franja (no incluida).
+     */
+    @NotNull(message = "La hora de fin es obligatoria")
+    private LocalTime endTime;
+    /**
+     * Centro de atención de la franja.
+     */
+    @NotBlank(message = "El centro de atención es obligatorio")
+    private String healthCenter;
+}
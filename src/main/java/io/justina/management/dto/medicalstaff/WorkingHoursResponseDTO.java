@@ -0,0 +1,42 @@
+package io.justina.management.dto.medicalstaff;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa una franja del horario de atención de un profesional.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkingHoursResponseDTO implements Serializable {
+    /**
+     * Identificador de la franja.
+     */
+    private Long id;
+    /**
+     * Identificador del profesional.
+     */
+    private Long idMedicalStaff;
+    /**
+     * Día de la semana de la franja.
+     */
+    private DayOfWeek dayOfWeek;
+    /**
+     * Hora de inicio de la franja.
+     */
+    private LocalTime startTime;
+    /**
+     * Hora de fin de la franja (no incluida).
+     */
+    private LocalTime endTime;
+    /**
+     * Centro de atención de la franja.
+     */
+    private String healthCenter;
+}
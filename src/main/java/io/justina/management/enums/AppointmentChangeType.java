@@ -0,0 +1,19 @@
+package io.justina.management.enums;
+
+/**
+ * Enumeración que define los tipos de cambio de una cita médica publicados en el canal de eventos.
+ */
+public enum AppointmentChangeType {
+    /**
+     * Cita registrada.
+     */
+    CREATED,
+    /**
+     * Cita modificada.
+     */
+    UPDATED,
+    /**
+     * Cita cancelada.
+     */
+    CANCELLED
+}
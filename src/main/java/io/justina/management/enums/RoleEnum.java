@@ -21,5 +21,28 @@ public enum RoleEnum {
     /**
      * Rol de financiero.
      */
-    FINANCIER
+    FINANCIER;
+
+    /**
+     * Devuelve el bit que representa al rol dentro de una máscara de roles.
+     *
+     * @return Máscara con un único bit encendido para este rol.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Combina los roles indicados en una única máscara.
+     *
+     * @param roles Roles a combinar.
+     * @return Máscara con un bit encendido por cada rol.
+     */
+    public static int maskOf(RoleEnum... roles) {
+        int mask = 0;
+        for (RoleEnum role : roles) {
+            mask |= role.mask();
+        }
+        return mask;
+    }
 }
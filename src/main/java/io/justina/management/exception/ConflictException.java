@@ -0,0 +1,17 @@
+package io.justina.management.exception;
+
+/**
+ * Excepción que indica un conflicto con el estado actual de un recurso.
+ * Esta excepción se utiliza, por ejemplo, cuando un turno se superpone con otro ya reservado.
+ */
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Constructor que acepta un mensaje de error.
+     *
+     * @param message Mensaje que describe la causa de la excepción.
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package io.justina.management.exception;
+
+/**
+ * Excepción que indica que el servicio no puede atender la solicitud en este momento.
+ * Esta excepción se utiliza cuando un recurso interno está saturado y la solicitud debe reintentarse más tarde.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructor que acepta un mensaje de error.
+     *
+     * @param message Mensaje que describe la causa de la excepción.
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
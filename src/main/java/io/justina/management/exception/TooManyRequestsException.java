@@ -0,0 +1,27 @@
+package io.justina.management.exception;
+
+import lombok.Getter;
+
+/**
+ * Excepción que indica que el cliente superó la cantidad de solicitudes permitidas.
+ * Esta excepción se utiliza para rechazar intentos repetidos antes de procesarlos.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * Segundos que el cliente debe esperar antes de reintentar.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor que acepta un mensaje de error y el tiempo de espera sugerido.
+     *
+     * @param message           Mensaje que describe la causa de la excepción.
+     * @param retryAfterSeconds Segundos que el cliente debe esperar antes de reintentar.
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
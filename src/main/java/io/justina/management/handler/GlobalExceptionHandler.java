@@ -3,10 +3,18 @@ package io.justina.management.handler;
 
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import io.justina.management.exception.BadRequestException;
+import io.justina.management.exception.ConflictException;
 import io.justina.management.exception.ResourceNotFoundException;
+import io.justina.management.exception.ServiceUnavailableException;
+import io.justina.management.exception.TooManyRequestsException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import io.justina.management.dto.error.ErrorDTO;
 
 import java.time.LocalDateTime;
@@ -31,5 +39,100 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDTO, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Maneja la excepción {@link BadRequestException} lanzada cuando la solicitud es inválida.
+     *
+     * @param ex      La excepción de tipo {@link BadRequestException}.
+     * @param request El objeto {@link WebRequest} que representa la solicitud web actual.
+     * @return ResponseEntity con un objeto {@link ErrorDTO} que contiene detalles del error y código de estado HTTP {@link HttpStatus#BAD_REQUEST}.
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorDTO> handleBadRequestException(BadRequestException ex, WebRequest request) {
+        ErrorDTO errorDTO = new ErrorDTO(LocalDateTime.now(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDTO, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja la excepción {@link ConflictException} lanzada cuando la operación entra en conflicto con otro recurso.
+     *
+     * @param ex      La excepción de tipo {@link ConflictException}.
+     * @param request El objeto {@link WebRequest} que representa la solicitud web actual.
+     * @return ResponseEntity con un objeto {@link ErrorDTO} que contiene detalles del error y código de estado HTTP {@link HttpStatus#CONFLICT}.
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorDTO> handleConflictException(ConflictException ex, WebRequest request) {
+        ErrorDTO errorDTO = new ErrorDTO(LocalDateTime.now(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDTO, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja la excepción {@link OptimisticLockingFailureException} lanzada cuando otra transacción modificó
+     * la misma entidad y la escritura no se reintentó.
+     *
+     * @param ex      La excepción de tipo {@link OptimisticLockingFailureException}.
+     * @param request El objeto {@link WebRequest} que representa la solicitud web actual.
+     * @return ResponseEntity con un objeto {@link ErrorDTO} que contiene detalles del error y código de estado HTTP {@link HttpStatus#CONFLICT}.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDTO> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        ErrorDTO errorDTO = new ErrorDTO(LocalDateTime.now(), "El recurso fue modificado por otra operación; intente nuevamente",
+                request.getDescription(false));
+        return new ResponseEntity<>(errorDTO, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja la excepción {@link ServiceUnavailableException} lanzada cuando un recurso interno está saturado.
+     *
+     * @param ex      La excepción de tipo {@link ServiceUnavailableException}.
+     * @param request El objeto {@link WebRequest} que representa la solicitud web actual.
+     * @return ResponseEntity con un objeto {@link ErrorDTO} que contiene detalles del error y código de estado HTTP {@link HttpStatus#SERVICE_UNAVAILABLE}.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorDTO> handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+        ErrorDTO errorDTO = new ErrorDTO(LocalDateTime.now(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDTO, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Maneja la excepción {@link TooManyRequestsException} lanzada cuando el cliente superó el límite de intentos.
+     *
+     * @param ex      La excepción de tipo {@link TooManyRequestsException}.
+     * @param request El objeto {@link WebRequest} que representa la solicitud web actual.
+     * @return ResponseEntity con un objeto {@link ErrorDTO}, el encabezado Retry-After y código de estado HTTP {@link HttpStatus#TOO_MANY_REQUESTS}.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorDTO> handleTooManyRequestsException(TooManyRequestsException ex, WebRequest request) {
+        ErrorDTO errorDTO = new ErrorDTO(LocalDateTime.now(), ex.getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorDTO);
+    }
+
+    /**
+     * Maneja la excepción {@link BadCredentialsException} lanzada cuando las credenciales o el token de renovación son inválidos.
+     *
+     * @param ex      La excepción de tipo {@link BadCredentialsException}.
+     * @param request El objeto {@link WebRequest} que representa la solicitud web actual.
+     * @return ResponseEntity con un objeto {@link ErrorDTO} que contiene detalles del error y código de estado HTTP {@link HttpStatus#UNAUTHORIZED}.
+     */
+    @ExceptionHandler(BadCredentialsException.class)
+    public ResponseEntity<ErrorDTO> handleBadCredentialsException(BadCredentialsException ex, WebRequest request) {
+        ErrorDTO errorDTO = new ErrorDTO(LocalDateTime.now(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDTO, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Maneja la excepción {@link AccessDeniedException} lanzada cuando una verificación {@code @PreAuthorize} rechaza la solicitud.
+     *
+     * @param ex      La excepción de tipo {@link AccessDeniedException}.
+     * @param request El objeto {@link WebRequest} que representa la solicitud web actual.
+     * @return ResponseEntity con un objeto {@link ErrorDTO} que contiene detalles del error y código de estado HTTP {@link HttpStatus#FORBIDDEN}.
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorDTO> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
+        ErrorDTO errorDTO = new ErrorDTO(LocalDateTime.now(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDTO, HttpStatus.FORBIDDEN);
+    }
+
 }
 
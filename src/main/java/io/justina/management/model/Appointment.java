@@ -3,6 +3,7 @@ package io.justina.management.model;
 
 import io.justina.management.enums.ReasonAppointmentEnum;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,15 +19,28 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "turnos")
+@Table(name = "turnos", indexes = {
+        @Index(name = "idx_turnos_paciente_fecha", columnList = "patient_id, fecha_turno"),
+        @Index(name = "idx_turnos_profesional_fecha", columnList = "professional_id, fecha_turno"),
+        @Index(name = "idx_turnos_fecha_id", columnList = "fecha_turno, id_turno"),
+        @Index(name = "idx_turnos_centro_fecha", columnList = "centro_atención, fecha_turno")
+})
 @Entity
 public class Appointment {
 
+    /**
+     * Cantidad de identificadores que se reservan en cada llamada a la secuencia "turnos_seq".
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Identificador único del turno.
+     * Se genera con una secuencia que reserva bloques de 50 valores, lo que permite a Hibernate
+     * agrupar las inserciones en lotes JDBC (con IDENTITY cada inserción debe ejecutarse por separado).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "turnos_seq")
+    @SequenceGenerator(name = "turnos_seq", sequenceName = "turnos_seq", allocationSize = Appointment.ID_ALLOCATION_SIZE)
     @Column(name = "id_turno")
     private Long id;
     /**
@@ -48,13 +62,13 @@ public class Appointment {
     /**
      * Paciente asignado al turno.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id",  nullable = false)
     private Patient patient;
     /**
      * Personal médico asignado al turno.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "professional_id", nullable = false)
     private MedicalStaff medicalStaff;
     /**
@@ -67,5 +81,13 @@ public class Appointment {
      */
     @Column(name = "descripción")
     private String description;
+    /**
+     * Versión de la fila para el bloqueo optimista: Hibernate la incrementa en cada actualización y rechaza
+     * las escrituras hechas a partir de una versión desactualizada.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
 
 }
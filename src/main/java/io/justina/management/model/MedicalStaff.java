@@ -20,7 +20,9 @@ import lombok.Setter;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "medical_staff")
+@Table(name = "medical_staff", indexes = {
+        @Index(name = "idx_medical_staff_especialidad", columnList = "especialidad")
+})
 @PrimaryKeyJoinColumn(name = "user_id")
 @DiscriminatorValue("MEDICAL_STAFF")
 public class MedicalStaff extends User{
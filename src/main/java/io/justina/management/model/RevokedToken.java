@@ -0,0 +1,85 @@
+package io.justina.management.model;
+
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Clase que representa un token JWT revocado antes de su expiración.
+ * Esta entidad está mapeada a la tabla "tokens_revocados" en la base de datos.
+ * Como el identificador es asignado, implementa {@link Persistable} para que guardar un token nuevo
+ * sea un INSERT directo y no un merge que primero consulta si la fila existe.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "tokens_revocados", indexes = {
+        @Index(name = "idx_tokens_revocados_fecha_revocacion", columnList = "fecha_revocacion")
+})
+@Entity
+public class RevokedToken implements Persistable<String> {
+
+    /**
+     * Identificador del token revocado (claim "jti").
+     */
+    @Id
+    @Column(name = "id_token", length = 36)
+    private String tokenId;
+
+    /**
+     * Fecha de expiración del token; luego de ella el registro puede eliminarse.
+     */
+    @Column(name = "fecha_expiracion", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Fecha de la revocación. Las demás instancias consultan las revocaciones posteriores a su última lectura
+     * para agregarlas a su filtro en memoria.
+     */
+    @Column(name = "fecha_revocacion")
+    private Instant revokedAt;
+
+    /**
+     * Indica si la entidad ya existe en la base de datos, porque fue cargada o insertada.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    /**
+     * Constructor para registrar un token revocado.
+     *
+     * @param tokenId   Identificador del token (claim "jti").
+     * @param expiresAt Fecha de expiración del token.
+     * @param revokedAt Fecha de la revocación.
+     */
+    public RevokedToken(String tokenId, Instant expiresAt, Instant revokedAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    @Override
+    public String getId() {
+        return tokenId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+}
@@ -3,10 +3,12 @@ package io.justina.management.model;
 import io.justina.management.enums.RoleEnum;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 
@@ -18,7 +20,9 @@ import java.util.List;
  */
 @Getter
 @Setter
-@Table(name = "usuarios")
+@Table(name = "usuarios", indexes = {
+        @Index(name = "idx_usuarios_fecha_version_token", columnList = "fecha_version_token")
+})
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
@@ -74,6 +78,29 @@ public class User implements UserDetails {
     @Column(name = "activo")
     private Boolean active;
 
+    /**
+     * Versión de la fila para el bloqueo optimista: Hibernate la incrementa en cada actualización y rechaza
+     * las escrituras hechas a partir de una versión desactualizada. Incluye los cambios de pacientes y personal médico.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Versión de los tokens del usuario. Al incrementarla se invalidan todos los tokens emitidos con una versión anterior.
+     */
+    @ColumnDefault("0")
+    @Column(name = "version_token", nullable = false)
+    private Integer tokenVersion = 0;
+
+    /**
+     * Fecha de la última modificación de la versión de los tokens.
+     * Indexada porque {@code TokenVersionRegistry} consulta cada segundo los cambios posteriores a su última lectura.
+     */
+    @Column(name = "fecha_version_token")
+    private Instant tokenVersionUpdatedAt;
+
     /**
      * Método para obtener los roles/autoridades del usuario.
      * En este caso, devuelve un único rol basado en el enum `RoleEnum`.
@@ -0,0 +1,66 @@
+package io.justina.management.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Clase que representa una franja del horario de atención semanal de un profesional.
+ * Esta entidad está mapeada a la tabla "horarios_atencion" en la base de datos.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "horarios_atencion", indexes = {
+        @Index(name = "idx_horarios_profesional", columnList = "professional_id")
+})
+@Entity
+public class WorkingHours {
+
+    /**
+     * Identificador único de la franja horaria.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_horario")
+    private Long id;
+    /**
+     * Profesional que atiende en la franja.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "professional_id", nullable = false)
+    private MedicalStaff medicalStaff;
+    /**
+     * Día de la semana de la franja.
+     */
+    @Column(name = "dia_semana", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+    /**
+     * Hora de inicio de la franja.
+     */
+    @Column(name = "hora_inicio", nullable = false)
+    private LocalTime startTime;
+    /**
+     * Hora de fin de la franja (no incluida).
+     */
+    @Column(name = "hora_fin", nullable = false)
+    private LocalTime endTime;
+    /**
+     * Centro de atención donde se atiende en la franja.
+     */
+    @Column(name = "centro_atención", nullable = false)
+    private String healthCenter;
+    /**
+     * Estado de la franja.
+     */
+    @Column(name = "activo")
+    private Boolean active;
+
+}
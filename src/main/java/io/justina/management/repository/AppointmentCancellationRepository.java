@@ -0,0 +1,42 @@
+package io.justina.management.repository;
+
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fragmento de repositorio con las cancelaciones de citas médicas.
+ * Cada cancelación es una única sentencia UPDATE que marca los turnos como inactivos y devuelve,
+ * con RETURNING, los datos necesarios para liberar los índices en memoria, sin leer antes las entidades.
+ */
+public interface AppointmentCancellationRepository {
+
+    /**
+     * Cancela un turno activo.
+     *
+     * @param id Identificador del turno.
+     * @return Datos del turno cancelado, o vacío si no existe o ya estaba cancelado.
+     */
+    Optional<CancelledAppointment> cancel(Long id);
+
+    /**
+     * Cancela los turnos activos que cumplen todos los filtros indicados; los filtros nulos no restringen.
+     *
+     * @param medicalStaffId Identificador del personal médico.
+     * @param healthCenter   Centro de atención.
+     * @param from           Fecha y hora desde la cual se cancelan turnos (incluida).
+     * @param to             Fecha y hora hasta la cual se cancelan turnos (no incluida).
+     * @return Datos de los turnos cancelados.
+     */
+    List<CancelledAppointment> cancelMatching(Long medicalStaffId, String healthCenter, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Datos de un turno cancelado.
+     */
+    record CancelledAppointment(Long id, Long medicalStaffId, Long patientId, String healthCenter, LocalDateTime date,
+                                ReasonAppointmentEnum reason, Specialty specialty) {
+    }
+}
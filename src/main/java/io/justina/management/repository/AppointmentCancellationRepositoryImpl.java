@@ -0,0 +1,77 @@
+package io.justina.management.repository;
+
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
+import io.justina.management.model.Appointment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementación del fragmento {@link AppointmentCancellationRepository}.
+ */
+public class AppointmentCancellationRepositoryImpl implements AppointmentCancellationRepository {
+
+    private static final String UPDATE = "UPDATE turnos t SET activo = false, version = t.version + 1 " +
+            "FROM medical_staff m WHERE m.user_id = t.professional_id AND t.activo";
+    private static final String RETURNING = " RETURNING t.id_turno, t.professional_id, t.patient_id, t.centro_atención, " +
+            "t.fecha_turno, t.motivo, m.especialidad";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<CancelledAppointment> cancel(Long id) {
+        return execute(UPDATE + " AND t.id_turno = :id" + RETURNING,
+                Map.of("id", id)).stream().findFirst();
+    }
+
+    @Override
+    public List<CancelledAppointment> cancelMatching(Long medicalStaffId, String healthCenter, LocalDateTime from, LocalDateTime to) {
+        StringBuilder sql = new StringBuilder(UPDATE);
+        Map<String, Object> parameters = new HashMap<>();
+        if (medicalStaffId != null) {
+            sql.append(" AND t.professional_id = :medicalStaffId");
+            parameters.put("medicalStaffId", medicalStaffId);
+        }
+        if (healthCenter != null) {
+            sql.append(" AND t.centro_atención = :healthCenter");
+            parameters.put("healthCenter", healthCenter);
+        }
+        if (from != null) {
+            sql.append(" AND t.fecha_turno >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            sql.append(" AND t.fecha_turno < :to");
+            parameters.put("to", to);
+        }
+        return execute(sql.append(RETURNING).toString(), parameters);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CancelledAppointment> execute(String sql, Map<String, Object> parameters) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        query.addSynchronizedEntityClass(Appointment.class)
+                .addScalar("id_turno", Long.class)
+                .addScalar("professional_id", Long.class)
+                .addScalar("patient_id", Long.class)
+                .addScalar("centro_atención", String.class)
+                .addScalar("fecha_turno", LocalDateTime.class)
+                .addScalar("motivo", String.class)
+                .addScalar("especialidad", String.class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList().stream()
+                .map(row -> new CancelledAppointment((Long) row[0], (Long) row[1], (Long) row[2], (String) row[3],
+                        (LocalDateTime) row[4],
+                        row[5] == null ? null : ReasonAppointmentEnum.valueOf((String) row[5]),
+                        row[6] == null ? null : Specialty.valueOf((String) row[6])))
+                .toList();
+    }
+}
@@ -1,16 +1,199 @@
 package io.justina.management.repository;
 
 
+import io.justina.management.dto.appointment.AppointmentExportDTO;
+import io.justina.management.dto.appointment.AppointmentResponseDTO;
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
 import io.justina.management.model.Appointment;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 /**
  * Interfaz de repositorio para la entidad Appointment.
  * Esta interfaz proporciona métodos para realizar operaciones de persistencia y consulta
  * sobre entidades de tipo Appointment en la base de datos.
  */
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, JpaSpecificationExecutor<Appointment>,
+        AppointmentSearchRepository, AppointmentCancellationRepository {
+
+    /**
+     * Cláusulas SELECT y FROM que construyen {@link AppointmentResponseDTO} directamente en la consulta,
+     * leyendo solo las columnas devueltas del turno, del paciente y del personal médico.
+     */
+    String RESPONSE_SELECT = "SELECT new io.justina.management.dto.appointment.AppointmentResponseDTO(" +
+            "a.id, p.id, p.firstName, p.lastName, m.id, m.firstName, m.lastName, m.specialities, " +
+            "a.reason, a.description, a.healthCenter, a.date, a.active) " +
+            "FROM Appointment a JOIN a.patient p JOIN a.medicalStaff m ";
+
+    /**
+     * Devuelve la primera página de turnos, ordenada por (fecha, id).
+     *
+     * @param limit Cantidad máxima de turnos a devolver.
+     * @return Lista de turnos de la primera página.
+     */
+    @Query(RESPONSE_SELECT + "ORDER BY a.date, a.id")
+    List<AppointmentResponseDTO> findFirstPage(Limit limit);
+
+    /**
+     * Devuelve la página de turnos posterior a la clave (fecha, id) indicada.
+     * La comparación por tupla usa el índice sobre (fecha_turno, id_turno), por lo que el costo no depende
+     * de la profundidad de la página. La condición redundante sobre la fecha permite descartar las particiones
+     * de meses anteriores, ya que PostgreSQL no poda particiones a partir de la comparación por tupla.
+     *
+     * @param date  Fecha del último turno de la página anterior.
+     * @param id    Identificador del último turno de la página anterior.
+     * @param limit Cantidad máxima de turnos a devolver.
+     * @return Lista de turnos de la página siguiente.
+     */
+    @Query(RESPONSE_SELECT + "WHERE a.date >= :date AND (a.date, a.id) > (:date, :id) ORDER BY a.date, a.id")
+    List<AppointmentResponseDTO> findPageAfter(@Param("date") LocalDateTime date, @Param("id") Long id, Limit limit);
+
+    /**
+     * Devuelve los turnos del paciente indicado.
+     * Usa el índice sobre (patient_id, fecha_turno).
+     *
+     * @param patientId Identificador del paciente.
+     * @return Lista de turnos del paciente ordenada por fecha.
+     */
+    @Query(RESPONSE_SELECT + "WHERE a.patient.id = :patientId ORDER BY a.date")
+    List<AppointmentResponseDTO> findByPatientId(@Param("patientId") Long patientId);
+
+    /**
+     * Devuelve los turnos del personal médico indicado.
+     * Usa el índice sobre (professional_id, fecha_turno).
+     *
+     * @param medicalStaffId Identificador del personal médico.
+     * @return Lista de turnos del personal médico ordenada por fecha.
+     */
+    @Query(RESPONSE_SELECT + "WHERE a.medicalStaff.id = :medicalStaffId ORDER BY a.date")
+    List<AppointmentResponseDTO> findByMedicalStaffId(@Param("medicalStaffId") Long medicalStaffId);
+
+    /**
+     * Devuelve los turnos del paciente indicado desde la fecha dada.
+     * El filtro por fecha descarta las particiones mensuales anteriores, por lo que el costo no crece con el historial.
+     *
+     * @param patientId Identificador del paciente.
+     * @param from      Fecha y hora desde la cual se buscan turnos (incluida).
+     * @return Lista de turnos del paciente ordenada por fecha.
+     */
+    @Query(RESPONSE_SELECT + "WHERE a.patient.id = :patientId AND a.date >= :from ORDER BY a.date")
+    List<AppointmentResponseDTO> findByPatientIdFrom(@Param("patientId") Long patientId, @Param("from") LocalDateTime from);
+
+    /**
+     * Devuelve los turnos del personal médico indicado desde la fecha dada.
+     * El filtro por fecha descarta las particiones mensuales anteriores, por lo que el costo no crece con el historial.
+     *
+     * @param medicalStaffId Identificador del personal médico.
+     * @param from           Fecha y hora desde la cual se buscan turnos (incluida).
+     * @return Lista de turnos del personal médico ordenada por fecha.
+     */
+    @Query(RESPONSE_SELECT + "WHERE a.medicalStaff.id = :medicalStaffId AND a.date >= :from ORDER BY a.date")
+    List<AppointmentResponseDTO> findByMedicalStaffIdFrom(@Param("medicalStaffId") Long medicalStaffId,
+                                                          @Param("from") LocalDateTime from);
+
+    /**
+     * Devuelve los turnos del personal médico indicado en el rango [from, to), ordenados por (fecha, id).
+     * Usa el índice sobre (professional_id, fecha_turno).
+     *
+     * @param medicalStaffId Identificador del personal médico.
+     * @param from           Inicio del rango (incluido).
+     * @param to             Fin del rango (no incluido).
+     * @return Lista de turnos del rango.
+     */
+    @Query(RESPONSE_SELECT + "WHERE a.medicalStaff.id = :medicalStaffId AND a.date >= :from AND a.date < :to ORDER BY a.date, a.id")
+    List<AppointmentResponseDTO> findAgenda(@Param("medicalStaffId") Long medicalStaffId,
+                                            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Devuelve los turnos activos con fecha posterior a la indicada, con solo los datos necesarios
+     * para detectar superposiciones.
+     *
+     * @param from Fecha a partir de la cual se buscan turnos.
+     * @return Lista de turnos activos futuros.
+     */
+    @Query("SELECT a.id AS id, a.patient.id AS patientId, a.medicalStaff.id AS medicalStaffId, a.date AS date " +
+            "FROM Appointment a WHERE a.active = true AND a.date >= :from")
+    List<AppointmentSlotView> findActiveSlotsFrom(@Param("from") LocalDateTime from);
+
+    /**
+     * Cuenta los turnos activos agrupados por especialidad, centro de atención, motivo y día, en una sola consulta.
+     *
+     * @return Lista de grupos con su cantidad de turnos.
+     */
+    @Query("SELECT m.specialities AS specialty, a.healthCenter AS healthCenter, a.reason AS reason, " +
+            "cast(a.date AS LocalDate) AS day, count(a) AS total " +
+            "FROM Appointment a JOIN a.medicalStaff m WHERE a.active = true " +
+            "GROUP BY m.specialities, a.healthCenter, a.reason, cast(a.date AS LocalDate)")
+    List<AppointmentStatisticsView> countActiveByDimensions();
+
+    /**
+     * Obtiene el identificador de la transacción actual, asignándole uno si todavía no escribió.
+     *
+     * @return Identificador de 64 bits de la transacción, que no se reinicia al dar la vuelta el contador de PostgreSQL.
+     */
+    @Query(value = "SELECT txid_current()", nativeQuery = true)
+    long currentTransactionId();
+
+    /**
+     * Obtiene la instantánea de la transacción actual con el formato {@code xmin:xmax:xip_list}.
+     * En una transacción REPEATABLE READ es la misma instantánea que ven todas sus consultas.
+     *
+     * @return Instantánea de la transacción.
+     */
+    @Query(value = "SELECT CAST(txid_current_snapshot() AS text)", nativeQuery = true)
+    String currentSnapshot();
+
+    /**
+     * Proyección con la cantidad de turnos activos de una combinación de especialidad, centro, motivo y día.
+     */
+    interface AppointmentStatisticsView {
+        Specialty getSpecialty();
+        String getHealthCenter();
+        ReasonAppointmentEnum getReason();
+        LocalDate getDay();
+        Long getTotal();
+    }
 
+    /**
+     * Proyección con los datos de un turno necesarios para detectar superposiciones.
+     */
+    interface AppointmentSlotView {
+        Long getId();
+        Long getPatientId();
+        Long getMedicalStaffId();
+        LocalDateTime getDate();
+    }
 
+    /**
+     * Recorre todos los turnos como filas planas, sin cargar entidades en el contexto de persistencia.
+     * Debe consumirse dentro de una transacción para que PostgreSQL use un cursor del lado del servidor
+     * y traiga las filas en bloques del tamaño indicado en la sugerencia de fetch size.
+     *
+     * @return Flujo de filas de exportación ordenado por identificador.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new io.justina.management.dto.appointment.AppointmentExportDTO(" +
+            "a.id, a.date, a.healthCenter, a.reason, a.description, a.active, " +
+            "p.id, p.firstName, p.lastName, m.id, m.firstName, m.lastName, m.specialities) " +
+            "FROM Appointment a JOIN a.patient p JOIN a.medicalStaff m ORDER BY a.id")
+    Stream<AppointmentExportDTO> streamAllForExport();
 }
@@ -0,0 +1,24 @@
+package io.justina.management.repository;
+
+import io.justina.management.dto.appointment.AppointmentResponseDTO;
+import io.justina.management.model.Appointment;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Fragmento de repositorio con consultas de citas médicas construidas con la API Criteria.
+ */
+public interface AppointmentSearchRepository {
+
+    /**
+     * Busca citas médicas que cumplen la especificación, construyendo el DTO de respuesta en la misma consulta.
+     *
+     * @param specification Filtros de la búsqueda.
+     * @param sort          Orden de los resultados.
+     * @param limit         Cantidad máxima de resultados a devolver.
+     * @return Lista de citas médicas encontradas.
+     */
+    List<AppointmentResponseDTO> search(Specification<Appointment> specification, Sort sort, int limit);
+}
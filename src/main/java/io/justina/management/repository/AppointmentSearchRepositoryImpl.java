@@ -0,0 +1,46 @@
+package io.justina.management.repository;
+
+import io.justina.management.dto.appointment.AppointmentResponseDTO;
+import io.justina.management.model.Appointment;
+import io.justina.management.model.MedicalStaff;
+import io.justina.management.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Implementación del fragmento {@link AppointmentSearchRepository}.
+ */
+public class AppointmentSearchRepositoryImpl implements AppointmentSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AppointmentResponseDTO> search(Specification<Appointment> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AppointmentResponseDTO> query = cb.createQuery(AppointmentResponseDTO.class);
+        Root<Appointment> root = query.from(Appointment.class);
+        Join<Appointment, Patient> patient = root.join("patient");
+        Join<Appointment, MedicalStaff> medicalStaff = root.join("medicalStaff");
+        query.select(cb.construct(AppointmentResponseDTO.class,
+                root.get("id"),
+                patient.get("id"), patient.get("firstName"), patient.get("lastName"),
+                medicalStaff.get("id"), medicalStaff.get("firstName"), medicalStaff.get("lastName"),
+                medicalStaff.get("specialities"),
+                root.get("reason"), root.get("description"), root.get("healthCenter"), root.get("date"), root.get("active")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
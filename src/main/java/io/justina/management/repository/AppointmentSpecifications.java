@@ -0,0 +1,108 @@
+package io.justina.management.repository;
+
+import io.justina.management.dto.appointment.AppointmentSearchDTO;
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
+import io.justina.management.model.Appointment;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Especificaciones JPA para filtrar citas médicas.
+ * Cada método devuelve null cuando el filtro no se indicó, de modo que no agrega condiciones a la consulta.
+ */
+public final class AppointmentSpecifications {
+
+    private AppointmentSpecifications() {
+    }
+
+    /**
+     * Combina todos los filtros indicados en la búsqueda.
+     *
+     * @param filters Filtros de búsqueda.
+     * @return Especificación con la conjunción de los filtros indicados.
+     */
+    public static Specification<Appointment> matching(AppointmentSearchDTO filters) {
+        return Specification.allOf(
+                dateFrom(filters.getFrom()),
+                dateBefore(filters.getTo()),
+                healthCenter(filters.getHealthCenter()),
+                reason(filters.getReason()),
+                specialty(filters.getSpecialty()),
+                active(filters.getActive()));
+    }
+
+    public static Specification<Appointment> dateFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), from);
+    }
+
+    public static Specification<Appointment> dateBefore(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("date"), to);
+    }
+
+    public static Specification<Appointment> healthCenter(String healthCenter) {
+        return healthCenter == null || healthCenter.isBlank() ? null
+                : (root, query, cb) -> cb.equal(root.get("healthCenter"), healthCenter.trim());
+    }
+
+    public static Specification<Appointment> reason(ReasonAppointmentEnum reason) {
+        return reason == null ? null : (root, query, cb) -> cb.equal(root.get("reason"), reason);
+    }
+
+    public static Specification<Appointment> specialty(Specialty specialty) {
+        return specialty == null ? null
+                : (root, query, cb) -> cb.equal(medicalStaff(root).get("specialities"), specialty);
+    }
+
+    public static Specification<Appointment> active(Boolean active) {
+        return active == null ? null : (root, query, cb) -> cb.equal(root.get("active"), active);
+    }
+
+    /**
+     * Condición de paginación por keyset: los turnos que siguen, en el orden indicado con desempate por id,
+     * a la clave del último turno de la página anterior. Los nulos se ubican como en el orden por defecto de
+     * PostgreSQL: al final en orden ascendente y al principio en orden descendente.
+     *
+     * @param order Orden principal de la búsqueda.
+     * @param value Valor del campo de orden en el último turno de la página anterior, puede ser nulo.
+     * @param id    Identificador del último turno de la página anterior.
+     * @return Especificación con la condición de keyset.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Appointment> after(Sort.Order order, Comparable<?> value, Long id) {
+        boolean ascending = order.isAscending();
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get("id");
+            Predicate idAfter = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            if (order.getProperty().equals("id")) {
+                return idAfter;
+            }
+            Path<Comparable> path = root.get(order.getProperty());
+            if (value == null) {
+                Predicate sameNull = cb.and(cb.isNull(path), idAfter);
+                return ascending ? sameNull : cb.or(cb.isNotNull(path), sameNull);
+            }
+            Comparable comparable = value;
+            Predicate beyond = ascending ? cb.greaterThan(path, comparable) : cb.lessThan(path, comparable);
+            Predicate tie = cb.and(cb.equal(path, comparable), idAfter);
+            return ascending ? cb.or(beyond, tie, cb.isNull(path)) : cb.or(beyond, tie);
+        };
+    }
+
+    /**
+     * Reutiliza el join con el personal médico si la consulta ya lo declaró, para no unir la tabla dos veces.
+     */
+    private static From<?, ?> medicalStaff(Root<Appointment> root) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("medicalStaff"))
+                .<From<?, ?>>map(join -> join)
+                .findFirst()
+                .orElseGet(() -> root.join("medicalStaff"));
+    }
+}
@@ -1,9 +1,11 @@
 package io.justina.management.repository;
 
 import io.justina.management.model.Financier;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -14,5 +16,21 @@ import java.util.UUID;
 @Repository
 public interface FinancierRepository extends JpaRepository<Financier, UUID> {
 
+    /**
+     * Devuelve la primera página de financiadores, ordenada por identificador.
+     *
+     * @param limit Cantidad máxima de financiadores a devolver.
+     * @return Lista de financiadores de la primera página.
+     */
+    List<Financier> findAllByOrderByIdFinancierAsc(Limit limit);
+
+    /**
+     * Devuelve los financiadores con identificador mayor al indicado, ordenados por identificador.
+     *
+     * @param idFinancier Identificador del último financiador de la página anterior.
+     * @param limit       Cantidad máxima de financiadores a devolver.
+     * @return Lista de financiadores de la página.
+     */
+    List<Financier> findByIdFinancierGreaterThanOrderByIdFinancierAsc(UUID idFinancier, Limit limit);
 }
 
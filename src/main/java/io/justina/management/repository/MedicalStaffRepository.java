@@ -1,6 +1,7 @@
 package io.justina.management.repository;
 
 import io.justina.management.model.MedicalStaff;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,5 +15,24 @@ import java.util.List;
 @Repository
 public interface MedicalStaffRepository extends JpaRepository<MedicalStaff, Long> {
     List<MedicalStaff> findByActiveTrue();
+
+    /**
+     * Devuelve el personal médico con identificador mayor al indicado, ordenado por identificador.
+     * Se usa para la paginación por keyset; con 0 se obtiene la primera página.
+     *
+     * @param id    Identificador del último elemento de la página anterior.
+     * @param limit Cantidad máxima de elementos a devolver.
+     * @return Lista del personal médico de la página.
+     */
+    List<MedicalStaff> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Devuelve el personal médico activo con identificador mayor al indicado, ordenado por identificador.
+     *
+     * @param id    Identificador del último elemento de la página anterior.
+     * @param limit Cantidad máxima de elementos a devolver.
+     * @return Lista del personal médico activo de la página.
+     */
+    List<MedicalStaff> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
 
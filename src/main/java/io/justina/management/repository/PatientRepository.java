@@ -2,9 +2,12 @@ package io.justina.management.repository;
 
 
 import io.justina.management.model.Patient;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Interfaz de repositorio para la entidad Patient.
  * Esta interfaz proporciona métodos para realizar operaciones de persistencia y consulta
@@ -21,5 +24,15 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Devuelve los pacientes con identificador mayor al indicado, ordenados por identificador.
+     * Se usa para la paginación por keyset; con 0 se obtiene la primera página.
+     *
+     * @param id    Identificador del último paciente de la página anterior.
+     * @param limit Cantidad máxima de pacientes a devolver.
+     * @return Lista de pacientes de la página.
+     */
+    List<Patient> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
 }
 
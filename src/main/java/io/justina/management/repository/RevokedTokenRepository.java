@@ -0,0 +1,52 @@
+package io.justina.management.repository;
+
+import io.justina.management.model.RevokedToken;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+/**
+ * Interfaz de repositorio para la entidad RevokedToken.
+ * Esta interfaz proporciona métodos para registrar y consultar los tokens JWT revocados.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Recorre los identificadores de los tokens revocados que todavía no expiraron.
+     *
+     * @param now Instante de referencia.
+     * @return Flujo de identificadores de tokens revocados vigentes.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("select r.tokenId from RevokedToken r where r.expiresAt > :now")
+    Stream<String> streamActiveTokenIds(@Param("now") Instant now);
+
+    /**
+     * Busca los tokens revocados después del instante indicado.
+     *
+     * @param since Instante desde el cual se buscan revocaciones, excluido.
+     * @return Lista de tokens revocados después de ese instante.
+     */
+    List<RevokedToken> findByRevokedAtAfter(Instant since);
+
+    /**
+     * Elimina los tokens revocados que ya expiraron.
+     *
+     * @param now Instante de referencia.
+     * @return Cantidad de registros eliminados.
+     */
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
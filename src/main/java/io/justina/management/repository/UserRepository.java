@@ -2,8 +2,12 @@ package io.justina.management.repository;
 
 import io.justina.management.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,4 +31,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Verdadero si existe un usuario con el correo electrónico especificado, falso en caso contrario.
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Devuelve la versión de los tokens de los usuarios cuya versión fue modificada después del instante indicado.
+     *
+     * @param since Instante a partir del cual se buscan cambios.
+     * @return Lista con el identificador, la versión y la fecha de modificación de cada usuario.
+     */
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion, u.tokenVersionUpdatedAt AS tokenVersionUpdatedAt " +
+            "FROM User u WHERE u.tokenVersionUpdatedAt > :since")
+    List<TokenVersionView> findTokenVersionsUpdatedAfter(@Param("since") Instant since);
+
+    /**
+     * Proyección con la versión de los tokens de un usuario.
+     */
+    interface TokenVersionView {
+        Long getId();
+        Integer getTokenVersion();
+        Instant getTokenVersionUpdatedAt();
+    }
 }
@@ -0,0 +1,65 @@
+package io.justina.management.repository;
+
+import io.justina.management.enums.Specialty;
+import io.justina.management.model.WorkingHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Interfaz de repositorio para la entidad WorkingHours.
+ * Esta interfaz proporciona métodos para realizar operaciones de persistencia y consulta
+ * sobre los horarios de atención de los profesionales.
+ */
+@Repository
+public interface WorkingHoursRepository extends JpaRepository<WorkingHours, Long> {
+
+    /**
+     * Devuelve las franjas activas de un profesional, ordenadas por día y hora de inicio.
+     *
+     * @param medicalStaffId Identificador del profesional.
+     * @return Lista de franjas horarias del profesional.
+     */
+    List<WorkingHours> findByMedicalStaffIdAndActiveTrueOrderByDayOfWeekAscStartTimeAsc(Long medicalStaffId);
+
+    /**
+     * Devuelve las franjas activas de todos los profesionales activos, con los datos del profesional
+     * necesarios para calcular la disponibilidad.
+     *
+     * @return Lista de franjas horarias.
+     */
+    @Query("SELECT m.id AS medicalStaffId, m.firstName AS firstName, m.lastName AS lastName, m.specialities AS specialty, " +
+            "w.dayOfWeek AS dayOfWeek, w.startTime AS startTime, w.endTime AS endTime, w.healthCenter AS healthCenter " +
+            "FROM WorkingHours w JOIN w.medicalStaff m WHERE w.active = true AND m.active = true")
+    List<ScheduleView> findActiveSchedules();
+
+    /**
+     * Devuelve las franjas activas de un profesional, si está activo, con los mismos datos que {@link #findActiveSchedules()}.
+     *
+     * @param medicalStaffId Identificador del profesional.
+     * @return Lista de franjas horarias del profesional.
+     */
+    @Query("SELECT m.id AS medicalStaffId, m.firstName AS firstName, m.lastName AS lastName, m.specialities AS specialty, " +
+            "w.dayOfWeek AS dayOfWeek, w.startTime AS startTime, w.endTime AS endTime, w.healthCenter AS healthCenter " +
+            "FROM WorkingHours w JOIN w.medicalStaff m WHERE w.active = true AND m.active = true AND m.id = :medicalStaffId")
+    List<ScheduleView> findActiveSchedulesByMedicalStaffId(@Param("medicalStaffId") Long medicalStaffId);
+
+    /**
+     * Proyección con una franja horaria y los datos del profesional que atiende en ella.
+     */
+    interface ScheduleView {
+        Long getMedicalStaffId();
+        String getFirstName();
+        String getLastName();
+        Specialty getSpecialty();
+        DayOfWeek getDayOfWeek();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+        String getHealthCenter();
+    }
+}
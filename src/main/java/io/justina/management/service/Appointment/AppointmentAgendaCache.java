@@ -0,0 +1,125 @@
+package io.justina.management.service.Appointment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.justina.management.dto.appointment.AppointmentResponseDTO;
+import io.justina.management.repository.AppointmentRepository;
+import io.justina.management.utils.TransactionHooks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Caché de agendas diarias de los profesionales: para cada (profesional, día) guarda la lista de turnos
+ * ya construida y ordenada por (fecha, id).
+ * Las altas de turnos actualizan las agendas en caché al confirmarse la transacción (write-through) y las cancelaciones las descartan;
+ * los días anteriores se descartan al cambiar de día y la memoria se acota por la cantidad total de turnos guardados.
+ * La expiración por tiempo cubre los cambios hechos por otras instancias de la aplicación.
+ */
+@Component
+public class AppointmentAgendaCache {
+
+    private static final Comparator<AppointmentResponseDTO> AGENDA_ORDER =
+            Comparator.comparing(AppointmentResponseDTO::date).thenComparing(AppointmentResponseDTO::id);
+
+    private final AppointmentRepository appointmentRepository;
+    private final Cache<AgendaKey, List<AppointmentResponseDTO>> cache;
+
+    /**
+     * Constructor que inicializa la caché y registra sus métricas.
+     *
+     * @param appointmentRepository Repositorio de turnos, usado para cargar las agendas que no están en caché
+     * @param meterRegistry         Registro de métricas de la aplicación
+     * @param maximumWeight         Cantidad máxima de turnos, sumando todas las agendas, que se mantienen en memoria
+     * @param expireAfterWrite      Tiempo máximo que una agenda permanece en caché sin volver a cargarse
+     */
+    @Autowired
+    public AppointmentAgendaCache(AppointmentRepository appointmentRepository, MeterRegistry meterRegistry,
+                                  @Value("${api.appointments.agenda-cache.maximum-weight:100000}") long maximumWeight,
+                                  @Value("${api.appointments.agenda-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.appointmentRepository = appointmentRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((AgendaKey key, List<AppointmentResponseDTO> agenda) -> agenda.size() + 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "appointments.agenda");
+        Gauge.builder("appointments.agenda.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Proporción de consultas de agenda resueltas desde la caché")
+                .register(meterRegistry);
+        Gauge.builder("appointments.agenda.weight", cache,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Turnos guardados en la caché de agendas, sumando todas las agendas")
+                .baseUnit("appointments")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Obtiene la agenda de un profesional para un día, cargándola de la base de datos si no está en caché.
+     *
+     * @param medicalStaffId ID del profesional
+     * @param date           Día de la agenda
+     * @return Lista inmutable de turnos del día, ordenada por fecha
+     */
+    public List<AppointmentResponseDTO> get(Long medicalStaffId, LocalDate date) {
+        return cache.get(new AgendaKey(medicalStaffId, date), key -> List.copyOf(appointmentRepository.findAgenda(
+                medicalStaffId, date.atStartOfDay(), date.plusDays(1).atStartOfDay())));
+    }
+
+    /**
+     * Agrega o reemplaza un turno en la agenda en caché de su profesional y día, al confirmarse la transacción.
+     * Si la agenda no está en caché no se hace nada: se cargará completa en la próxima consulta.
+     *
+     * @param appointment Turno registrado o modificado
+     */
+    public void put(AppointmentResponseDTO appointment) {
+        AgendaKey key = new AgendaKey(appointment.idMedicalStaff(), appointment.date().toLocalDate());
+        TransactionHooks.afterCommit(() -> cache.asMap().computeIfPresent(key, (k, agenda) -> {
+            List<AppointmentResponseDTO> updated = new ArrayList<>(agenda.size() + 1);
+            for (AppointmentResponseDTO existing : agenda) {
+                if (!existing.id().equals(appointment.id())) {
+                    updated.add(existing);
+                }
+            }
+            updated.add(appointment);
+            updated.sort(AGENDA_ORDER);
+            return List.copyOf(updated);
+        }));
+    }
+
+    /**
+     * Descarta las agendas en caché de un profesional para los días indicados, al confirmarse la transacción.
+     * Se usa tras cancelaciones, que modifican turnos en la base de datos sin construir sus DTOs.
+     *
+     * @param medicalStaffId ID del profesional
+     * @param dates          Días de las agendas a descartar
+     */
+    public void evict(Long medicalStaffId, Collection<LocalDate> dates) {
+        List<AgendaKey> keys = dates.stream().map(date -> new AgendaKey(medicalStaffId, date)).toList();
+        TransactionHooks.afterCommit(() -> cache.invalidateAll(keys));
+    }
+
+    /**
+     * Descarta las agendas de días anteriores al actual.
+     */
+    @Scheduled(cron = "${api.appointments.agenda-cache.rollover-cron:0 0 0 * * *}")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        cache.asMap().keySet().removeIf(key -> key.date().isBefore(today));
+    }
+
+    private record AgendaKey(Long medicalStaffId, LocalDate date) {
+    }
+}
@@ -0,0 +1,343 @@
+package io.justina.management.service.Appointment;
+
+import io.justina.management.dto.appointment.AvailableSlotDTO;
+import io.justina.management.enums.Specialty;
+import io.justina.management.repository.AppointmentRepository;
+import io.justina.management.repository.WorkingHoursRepository;
+import io.justina.management.utils.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria de la disponibilidad de los profesionales, usado para buscar los primeros turnos libres
+ * de una especialidad sin recorrer todos los turnos.
+ * Cada día se divide en turnos de duración fija y se representa con un bitset ({@code long[]}): uno por
+ * franja de atención semanal y centro, y otro por profesional y fecha con los turnos ya ocupados. Los turnos libres
+ * de un profesional son {@code atención AND NOT ocupados}, y los de una especialidad el OR de los de sus profesionales.
+ * Los cambios se aplican al confirmarse la transacción que los produce.
+ */
+@Slf4j
+@Component
+public class AppointmentAvailabilityIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final WorkingHoursRepository workingHoursRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final int slotMinutes;
+    private final int words;
+    private final Map<Long, DoctorSchedule> schedules = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor que inicializa el índice de disponibilidad.
+     *
+     * @param workingHoursRepository Repositorio de horarios de atención
+     * @param appointmentRepository  Repositorio de turnos, usado para cargar los turnos al iniciar
+     * @param slotMinutes            Duración de cada turno en minutos; debe dividir exactamente al día
+     */
+    @Autowired
+    public AppointmentAvailabilityIndex(WorkingHoursRepository workingHoursRepository,
+                                        AppointmentRepository appointmentRepository,
+                                        @Value("${api.appointments.slot-minutes:15}") int slotMinutes) {
+        if (slotMinutes <= 0 || MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("api.appointments.slot-minutes debe dividir exactamente las 24 horas");
+        }
+        this.workingHoursRepository = workingHoursRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.slotMinutes = slotMinutes;
+        this.words = (MINUTES_PER_DAY / slotMinutes + 63) / 64;
+    }
+
+    /**
+     * Carga los horarios de atención y los turnos activos desde el día de hoy al iniciar la aplicación.
+     */
+    @PostConstruct
+    void init() {
+        refreshSchedules();
+        int count = 0;
+        for (var slot : appointmentRepository.findActiveSlotsFrom(LocalDate.now().atStartOfDay())) {
+            schedule(slot.getMedicalStaffId()).book(slot.getDate());
+            count++;
+        }
+        log.info("Índice de disponibilidad cargado: {} profesionales con horario, {} turnos", schedules.size(), count);
+    }
+
+    /**
+     * Vuelve a leer los horarios de atención de todos los profesionales activos, para reflejar cambios
+     * de especialidad, nombre o estado hechos fuera de este servicio.
+     */
+    @Scheduled(fixedDelayString = "${api.appointments.schedule-refresh-interval-ms:300000}", initialDelayString = "${api.appointments.schedule-refresh-interval-ms:300000}")
+    public void refreshSchedules() {
+        Map<Long, Profile> profiles = toProfiles(workingHoursRepository.findActiveSchedules());
+        schedules.forEach((id, schedule) -> {
+            if (!profiles.containsKey(id)) {
+                schedule.profile = null;
+            }
+        });
+        profiles.forEach((id, profile) -> schedule(id).profile = profile);
+    }
+
+    /**
+     * Reemplaza el horario de atención de un profesional al confirmarse la transacción actual.
+     * Una lista vacía deja al profesional sin disponibilidad, por ejemplo al desactivarlo.
+     *
+     * @param medicalStaffId ID del profesional
+     * @param rows           Franjas activas del profesional, leídas dentro de la transacción
+     */
+    public void replaceSchedule(Long medicalStaffId, List<WorkingHoursRepository.ScheduleView> rows) {
+        Profile profile = toProfiles(rows).get(medicalStaffId);
+        TransactionHooks.afterCommit(() -> schedule(medicalStaffId).profile = profile);
+    }
+
+    /**
+     * Marca como ocupado el turno al confirmarse la transacción actual.
+     *
+     * @param medicalStaffId ID del profesional
+     * @param date           Fecha y hora de inicio del turno
+     */
+    public void book(Long medicalStaffId, LocalDateTime date) {
+        TransactionHooks.afterCommit(() -> schedule(medicalStaffId).book(date));
+    }
+
+    /**
+     * Libera el turno al confirmarse la transacción actual.
+     *
+     * @param medicalStaffId ID del profesional
+     * @param date           Fecha y hora de inicio del turno
+     */
+    public void release(Long medicalStaffId, LocalDateTime date) {
+        TransactionHooks.afterCommit(() -> {
+            DoctorSchedule schedule = schedules.get(medicalStaffId);
+            if (schedule != null) {
+                schedule.release(date);
+            }
+        });
+    }
+
+    /**
+     * Busca los primeros turnos libres de una especialidad en un centro de atención.
+     *
+     * @param specialty    Especialidad buscada
+     * @param healthCenter Centro de atención
+     * @param from         Fecha y hora a partir de la cual se busca
+     * @param days         Cantidad de días a recorrer a partir de {@code from}
+     * @param limit        Cantidad máxima de turnos a devolver
+     * @return Turnos libres ordenados por fecha y, a igual fecha, por ID de profesional
+     */
+    public List<AvailableSlotDTO> findEarliest(Specialty specialty, String healthCenter, LocalDateTime from, int days, int limit) {
+        String center = normalize(healthCenter);
+        List<Candidate> candidates = new ArrayList<>();
+        schedules.forEach((id, schedule) -> {
+            Profile profile = schedule.profile;
+            if (profile != null && profile.specialty() == specialty && profile.hours().containsKey(center)) {
+                candidates.add(new Candidate(id, schedule, profile));
+            }
+        });
+        candidates.sort(Comparator.comparing(Candidate::id));
+
+        List<AvailableSlotDTO> result = new ArrayList<>();
+        if (candidates.isEmpty()) {
+            return result;
+        }
+        LocalDate firstDay = from.toLocalDate();
+        int firstSlot = (from.toLocalTime().toSecondOfDay() + slotMinutes * 60 - 1) / (slotMinutes * 60);
+        long[][] free = new long[candidates.size()][];
+        for (int d = 0; d < days && result.size() < limit; d++) {
+            LocalDate date = firstDay.plusDays(d);
+            long[] any = new long[words];
+            for (int i = 0; i < free.length; i++) {
+                Candidate candidate = candidates.get(i);
+                free[i] = candidate.schedule().freeSlots(candidate.profile(), center, date);
+                if (d == 0) {
+                    clearBefore(free[i], firstSlot);
+                }
+                for (int w = 0; w < words; w++) {
+                    any[w] |= free[i][w];
+                }
+            }
+            for (int slot = nextSetBit(any, 0); slot >= 0 && result.size() < limit; slot = nextSetBit(any, slot + 1)) {
+                LocalDateTime start = date.atStartOfDay().plusMinutes((long) slot * slotMinutes);
+                for (int i = 0; i < free.length && result.size() < limit; i++) {
+                    if ((free[i][slot >>> 6] & (1L << slot)) != 0) {
+                        Candidate candidate = candidates.get(i);
+                        result.add(new AvailableSlotDTO(start, candidate.id(), candidate.profile().fullName(), healthCenter));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Descarta los turnos ocupados de días anteriores al actual.
+     */
+    @Scheduled(cron = "${api.appointments.availability-prune-cron:0 5 0 * * *}")
+    public void prune() {
+        LocalDate today = LocalDate.now();
+        schedules.values().forEach(schedule -> schedule.pruneBefore(today));
+    }
+
+    private DoctorSchedule schedule(Long medicalStaffId) {
+        return schedules.computeIfAbsent(medicalStaffId, id -> new DoctorSchedule());
+    }
+
+    private Map<Long, Profile> toProfiles(List<WorkingHoursRepository.ScheduleView> rows) {
+        Map<Long, Profile> profiles = new HashMap<>();
+        for (WorkingHoursRepository.ScheduleView row : rows) {
+            Profile profile = profiles.computeIfAbsent(row.getMedicalStaffId(), id -> new Profile(
+                    row.getFirstName() + " " + row.getLastName(), row.getSpecialty(), new HashMap<>()));
+            long[] mask = profile.hours()
+                    .computeIfAbsent(normalize(row.getHealthCenter()), c -> new EnumMap<>(DayOfWeek.class))
+                    .computeIfAbsent(row.getDayOfWeek(), day -> new long[words]);
+            setWorkingRange(mask, row.getStartTime(), row.getEndTime());
+        }
+        return profiles;
+    }
+
+    /**
+     * Marca los turnos que caben completos en la franja [inicio, fin).
+     */
+    private void setWorkingRange(long[] mask, LocalTime startTime, LocalTime endTime) {
+        int startMinute = (startTime.toSecondOfDay() + 59) / 60;
+        int endMinute = endTime.toSecondOfDay() / 60;
+        int first = (startMinute + slotMinutes - 1) / slotMinutes;
+        int last = endMinute / slotMinutes;
+        for (int slot = first; slot < last; slot++) {
+            mask[slot >>> 6] |= 1L << slot;
+        }
+    }
+
+    private static void clearBefore(long[] bits, int slot) {
+        for (int i = 0; i < slot && i < bits.length * 64; i++) {
+            bits[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    private static int nextSetBit(long[] bits, int from) {
+        int word = from >>> 6;
+        if (word >= bits.length) {
+            return -1;
+        }
+        long current = bits[word] & (-1L << from);
+        while (true) {
+            if (current != 0) {
+                return word * 64 + Long.numberOfTrailingZeros(current);
+            }
+            if (++word == bits.length) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+
+    private static String normalize(String healthCenter) {
+        return healthCenter == null ? "" : healthCenter.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Datos de un profesional necesarios para la búsqueda: nombre, especialidad y bitsets de atención
+     * por centro y día de la semana. Es inmutable una vez publicado.
+     */
+    private record Profile(String fullName, Specialty specialty, Map<String, Map<DayOfWeek, long[]>> hours) {
+    }
+
+    private record Candidate(Long id, DoctorSchedule schedule, Profile profile) {
+    }
+
+    /**
+     * Horario y turnos ocupados de un profesional. Los turnos ocupados se protegen con el monitor del objeto.
+     */
+    private final class DoctorSchedule {
+
+        private volatile Profile profile;
+        private final Map<LocalDate, DayBookings> days = new HashMap<>();
+
+        synchronized void book(LocalDateTime date) {
+            int minute = date.toLocalTime().toSecondOfDay() / 60;
+            DayBookings day = days.computeIfAbsent(date.toLocalDate(), d -> new DayBookings());
+            day.starts.add(minute);
+            day.mark(minute);
+        }
+
+        synchronized void release(LocalDateTime date) {
+            DayBookings day = days.get(date.toLocalDate());
+            if (day == null) {
+                return;
+            }
+            int minute = date.toLocalTime().toSecondOfDay() / 60;
+            if (!day.starts.remove(minute)) {
+                return;
+            }
+            day.clear(minute);
+            // Un turno que no empieza en el borde de un intervalo puede compartirlo con un turno vecino
+            for (int neighbour : day.starts.subSet(minute - 2 * slotMinutes, false, minute + 2 * slotMinutes, false)) {
+                day.mark(neighbour);
+            }
+            if (day.starts.isEmpty()) {
+                days.remove(date.toLocalDate());
+            }
+        }
+
+        long[] freeSlots(Profile profile, String center, LocalDate date) {
+            long[] working = profile.hours().get(center).get(date.getDayOfWeek());
+            long[] free = new long[words];
+            if (working == null) {
+                return free;
+            }
+            System.arraycopy(working, 0, free, 0, words);
+            synchronized (this) {
+                DayBookings day = days.get(date);
+                if (day != null) {
+                    for (int w = 0; w < words; w++) {
+                        free[w] &= ~day.booked[w];
+                    }
+                }
+            }
+            return free;
+        }
+
+        synchronized void pruneBefore(LocalDate date) {
+            days.keySet().removeIf(day -> day.isBefore(date));
+        }
+    }
+
+    /**
+     * Turnos ocupados de un profesional en una fecha: el bitset y los minutos de inicio que lo generan.
+     */
+    private final class DayBookings {
+
+        private final long[] booked = new long[words];
+        private final NavigableSet<Integer> starts = new TreeSet<>();
+
+        void mark(int minute) {
+            for (int slot = firstSlot(minute); slot <= lastSlot(minute); slot++) {
+                booked[slot >>> 6] |= 1L << slot;
+            }
+        }
+
+        void clear(int minute) {
+            for (int slot = firstSlot(minute); slot <= lastSlot(minute); slot++) {
+                booked[slot >>> 6] &= ~(1L << slot);
+            }
+        }
+
+        private int firstSlot(int minute) {
+            return minute / slotMinutes;
+        }
+
+        private int lastSlot(int minute) {
+            return Math.min(minute + slotMinutes - 1, MINUTES_PER_DAY - 1) / slotMinutes;
+        }
+    }
+}
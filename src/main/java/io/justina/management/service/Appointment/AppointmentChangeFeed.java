@@ -0,0 +1,257 @@
+package io.justina.management.service.Appointment;
+
+import io.justina.management.dto.appointment.AppointmentChangeEventDTO;
+import io.justina.management.utils.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canal de eventos (server-sent events) con los cambios de citas médicas confirmados.
+ * <p>
+ * Cada evento recibe un ID creciente y se guarda en un buffer circular, de modo que un cliente que se reconecta
+ * con el encabezado Last-Event-ID recibe solo los eventos que se perdió. Si esos eventos ya no están en el buffer
+ * (o la aplicación se reinició), recibe un evento "reset" y debe recargar la lista completa.
+ * <p>
+ * La publicación no bloquea: cada suscriptor tiene una cola acotada que se vacía en un pool de hilos propio.
+ * Si un suscriptor lento llena su cola, se le envía lo pendiente y se cierra la conexión; al reconectarse
+ * recupera el resto desde el buffer circular.
+ */
+@Slf4j
+@Component
+public class AppointmentChangeFeed implements DisposableBean {
+
+    private static final FeedEntry HEARTBEAT = new FeedEntry(0, null);
+
+    private final Object lock = new Object();
+    private final FeedEntry[] history;
+    private long lastEventId;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final Counter overflowCounter;
+
+    /**
+     * Constructor que crea el pool de envío y registra las métricas del canal.
+     *
+     * @param meterRegistry   Registro de métricas de la aplicación
+     * @param historySize     Cantidad de eventos recientes que se conservan para las reconexiones
+     * @param bufferSize      Cantidad máxima de eventos pendientes de envío por suscriptor
+     * @param dispatchThreads Cantidad de hilos que envían los eventos a los suscriptores
+     * @param timeout         Duración máxima de una conexión; al vencer, el cliente se reconecta
+     */
+    @Autowired
+    public AppointmentChangeFeed(MeterRegistry meterRegistry,
+                                 @Value("${api.appointments.feed.history-size:4096}") int historySize,
+                                 @Value("${api.appointments.feed.buffer-size:256}") int bufferSize,
+                                 @Value("${api.appointments.feed.dispatch-threads:2}") int dispatchThreads,
+                                 @Value("${api.appointments.feed.timeout:30m}") Duration timeout) {
+        this.history = new FeedEntry[historySize];
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // La cola del pool no necesita límite: cada suscriptor tiene como máximo una tarea de envío pendiente.
+        this.executor = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "appointment-feed-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("appointments.feed.subscribers", subscribers, List::size)
+                .description("Suscriptores conectados al canal de eventos de citas")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("appointments.feed.overflows")
+                .description("Conexiones cerradas porque el suscriptor no consumía los eventos a tiempo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra un suscriptor.
+     *
+     * @param subscription Filtros del suscriptor
+     * @param lastEventId  ID del último evento recibido antes de reconectarse, o null en la primera conexión
+     * @return Emisor de eventos de la conexión
+     */
+    public SseEmitter subscribe(Subscription subscription, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(subscription, new SseEmitter(timeoutMillis), bufferSize);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+        synchronized (lock) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Publica un cambio al confirmarse la transacción actual.
+     *
+     * @param event Cambio de la cita
+     */
+    public void publish(AppointmentChangeEventDTO event) {
+        TransactionHooks.afterCommit(() -> dispatch(event));
+    }
+
+    /**
+     * Envía un comentario a los suscriptores para mantener abiertas las conexiones y detectar las que se cerraron.
+     */
+    @Scheduled(fixedDelayString = "${api.appointments.feed.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        executor.shutdownNow();
+    }
+
+    private void dispatch(AppointmentChangeEventDTO event) {
+        synchronized (lock) {
+            FeedEntry entry = new FeedEntry(++lastEventId, event);
+            history[(int) (entry.id() % history.length)] = entry;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.subscription.matches(event)) {
+                    offer(subscriber, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Encola en el suscriptor los eventos posteriores al indicado que coinciden con sus filtros.
+     * Debe llamarse con el lock tomado, para que ningún evento publicado en paralelo se pierda ni se duplique.
+     */
+    private void replay(Subscriber subscriber, long afterEventId) {
+        long oldestRetained = Math.max(1, lastEventId - history.length + 1);
+        if (afterEventId > lastEventId || afterEventId < oldestRetained - 1) {
+            subscriber.queue.offer(new FeedEntry(lastEventId, null));
+            return;
+        }
+        for (long id = afterEventId + 1; id <= lastEventId; id++) {
+            FeedEntry entry = history[(int) (id % history.length)];
+            if (subscriber.subscription.matches(entry.event()) && !subscriber.queue.offer(entry)) {
+                subscriber.queue.clear();
+                subscriber.queue.offer(new FeedEntry(lastEventId, null));
+                return;
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, FeedEntry entry) {
+        if (subscriber.overflowed) {
+            return;
+        }
+        if (!subscriber.queue.offer(entry)) {
+            subscriber.overflowed = true;
+            subscribers.remove(subscriber);
+            overflowCounter.increment();
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            FeedEntry entry;
+            while ((entry = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(toSseEvent(entry));
+            }
+            if (subscriber.overflowed) {
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Suscriptor del canal de citas desconectado: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            return;
+        }
+        subscriber.scheduled.set(false);
+        if (!subscriber.queue.isEmpty() || subscriber.overflowed) {
+            schedule(subscriber);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(FeedEntry entry) {
+        if (entry == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        if (entry.event() == null) {
+            return SseEmitter.event().id(String.valueOf(entry.id())).name("reset").data("");
+        }
+        return SseEmitter.event()
+                .id(String.valueOf(entry.id()))
+                .name(entry.event().type().name())
+                .data(entry.event());
+    }
+
+    /**
+     * Filtros de un suscriptor. Los filtros nulos no restringen los eventos recibidos.
+     *
+     * @param idMedicalStaff ID del profesional
+     * @param idPatient      ID del paciente
+     * @param healthCenter   Centro de atención
+     */
+    public record Subscription(Long idMedicalStaff, Long idPatient, String healthCenter) {
+
+        boolean matches(AppointmentChangeEventDTO event) {
+            return (idMedicalStaff == null || idMedicalStaff.equals(event.idMedicalStaff()))
+                    && (idPatient == null || idPatient.equals(event.idPatient()))
+                    && (healthCenter == null || healthCenter.equals(event.healthCenter()));
+        }
+    }
+
+    /**
+     * Evento con su ID en el canal. Un evento nulo indica que el cliente debe recargar la lista completa.
+     */
+    private record FeedEntry(long id, AppointmentChangeEventDTO event) {
+    }
+
+    private static final class Subscriber {
+        private final Subscription subscription;
+        private final SseEmitter emitter;
+        private final Queue<FeedEntry> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Subscriber(Subscription subscription, SseEmitter emitter, int bufferSize) {
+            this.subscription = subscription;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package io.justina.management.service.Appointment;
+
+import io.justina.management.exception.ConflictException;
+import io.justina.management.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice en memoria de los turnos activos futuros, por médico y por paciente, para detectar superposiciones
+ * sin consultar la base de datos.
+ * Cada turno ocupa un intervalo de duración fija a partir de su fecha. Los accesos se protegen con un conjunto
+ * fijo de locks (lock striping) indexado por el ID del médico y del paciente, por lo que las reservas de médicos
+ * y pacientes distintos no compiten entre sí. La restricción de exclusión de la tabla "turnos" sigue siendo la
+ * garantía final, por ejemplo entre varias instancias de la aplicación.
+ */
+@Slf4j
+@Component
+public class AppointmentConflictIndex {
+
+    private static final int STRIPES = 64;
+
+    private final AppointmentRepository appointmentRepository;
+    private final long slotSeconds;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Map<Long, NavigableMap<Long, Long>> doctorSlots = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableMap<Long, Long>> patientSlots = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor que inicializa el índice de superposiciones.
+     *
+     * @param appointmentRepository Repositorio de turnos, usado para cargar los turnos al iniciar
+     * @param slotMinutes           Duración de cada turno en minutos
+     */
+    @Autowired
+    public AppointmentConflictIndex(AppointmentRepository appointmentRepository,
+                                    @Value("${api.appointments.slot-minutes:15}") long slotMinutes) {
+        this.appointmentRepository = appointmentRepository;
+        this.slotSeconds = slotMinutes * 60;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Carga los turnos activos futuros al iniciar la aplicación.
+     */
+    @PostConstruct
+    void init() {
+        LocalDateTime from = LocalDateTime.now().minusSeconds(slotSeconds);
+        int count = 0;
+        for (var slot : appointmentRepository.findActiveSlotsFrom(from)) {
+            long start = toSeconds(slot.getDate());
+            doctorSlots.computeIfAbsent(slot.getMedicalStaffId(), id -> new TreeMap<>()).put(start, slot.getId());
+            patientSlots.computeIfAbsent(slot.getPatientId(), id -> new TreeMap<>()).put(start, slot.getId());
+            count++;
+        }
+        log.info("Índice de turnos cargado: {} turnos", count);
+    }
+
+    /**
+     * Reserva el intervalo del turno para el médico y el paciente indicados.
+     * Si hay una transacción activa, la reserva se libera automáticamente si la transacción no se confirma.
+     *
+     * @param medicalStaffId ID del médico
+     * @param patientId      ID del paciente
+     * @param date           Fecha y hora de inicio del turno
+     * @return Reserva, que debe confirmarse con el ID del turno una vez guardado
+     * @throws ConflictException Si el médico o el paciente ya tienen un turno superpuesto
+     */
+    public Reservation reserve(Long medicalStaffId, Long patientId, LocalDateTime date) {
+        Reservation reservation = new Reservation(medicalStaffId, patientId, toSeconds(date));
+        lockBoth(medicalStaffId, patientId);
+        try {
+            NavigableMap<Long, Long> doctor = doctorSlots.computeIfAbsent(medicalStaffId, id -> new TreeMap<>());
+            NavigableMap<Long, Long> patient = patientSlots.computeIfAbsent(patientId, id -> new TreeMap<>());
+            if (overlaps(doctor, reservation.start)) {
+                throw new ConflictException("El profesional ya tiene un turno en ese horario");
+            }
+            if (overlaps(patient, reservation.start)) {
+                throw new ConflictException("El paciente ya tiene un turno en ese horario");
+            }
+            doctor.put(reservation.start, null);
+            patient.put(reservation.start, null);
+        } finally {
+            unlockBoth(medicalStaffId, patientId);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(reservation);
+                    }
+                }
+            });
+        }
+        return reservation;
+    }
+
+    /**
+     * Libera el intervalo de un turno cancelado o eliminado.
+     *
+     * @param appointmentId  ID del turno
+     * @param medicalStaffId ID del médico
+     * @param patientId      ID del paciente
+     * @param date           Fecha y hora de inicio del turno
+     */
+    public void remove(Long appointmentId, Long medicalStaffId, Long patientId, LocalDateTime date) {
+        remove(appointmentId, medicalStaffId, patientId, toSeconds(date));
+    }
+
+    /**
+     * Descarta los turnos que ya terminaron, para que el índice no crezca indefinidamente.
+     */
+    @Scheduled(fixedDelayString = "${api.appointments.index-prune-interval-ms:3600000}")
+    public void prune() {
+        long threshold = toSeconds(LocalDateTime.now()) - slotSeconds;
+        pruneAll(doctorSlots, threshold);
+        pruneAll(patientSlots, threshold);
+    }
+
+    private void pruneAll(Map<Long, NavigableMap<Long, Long>> slots, long threshold) {
+        for (Long key : slots.keySet()) {
+            ReentrantLock lock = lockFor(key);
+            lock.lock();
+            try {
+                NavigableMap<Long, Long> entries = slots.get(key);
+                if (entries != null) {
+                    entries.headMap(threshold, false).clear();
+                    if (entries.isEmpty()) {
+                        slots.remove(key);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void release(Reservation reservation) {
+        remove(reservation.appointmentId, reservation.medicalStaffId, reservation.patientId, reservation.start);
+    }
+
+    private void remove(Long appointmentId, Long medicalStaffId, Long patientId, long start) {
+        lockBoth(medicalStaffId, patientId);
+        try {
+            removeEntry(doctorSlots, medicalStaffId, start, appointmentId);
+            removeEntry(patientSlots, patientId, start, appointmentId);
+        } finally {
+            unlockBoth(medicalStaffId, patientId);
+        }
+    }
+
+    private void confirm(Reservation reservation, Long appointmentId) {
+        lockBoth(reservation.medicalStaffId, reservation.patientId);
+        try {
+            NavigableMap<Long, Long> doctor = doctorSlots.get(reservation.medicalStaffId);
+            if (doctor != null) {
+                doctor.replace(reservation.start, null, appointmentId);
+            }
+            NavigableMap<Long, Long> patient = patientSlots.get(reservation.patientId);
+            if (patient != null) {
+                patient.replace(reservation.start, null, appointmentId);
+            }
+            reservation.appointmentId = appointmentId;
+        } finally {
+            unlockBoth(reservation.medicalStaffId, reservation.patientId);
+        }
+    }
+
+    private static void removeEntry(Map<Long, NavigableMap<Long, Long>> slots, Long key, long start, Long appointmentId) {
+        NavigableMap<Long, Long> entries = slots.get(key);
+        if (entries != null) {
+            entries.remove(start, appointmentId);
+        }
+    }
+
+    private boolean overlaps(NavigableMap<Long, Long> entries, long start) {
+        return !entries.subMap(start - slotSeconds, false, start + slotSeconds, false).isEmpty();
+    }
+
+    private void lockBoth(Long medicalStaffId, Long patientId) {
+        int first = stripe(medicalStaffId);
+        int second = stripe(patientId);
+        locks[Math.min(first, second)].lock();
+        if (first != second) {
+            locks[Math.max(first, second)].lock();
+        }
+    }
+
+    private void unlockBoth(Long medicalStaffId, Long patientId) {
+        int first = stripe(medicalStaffId);
+        int second = stripe(patientId);
+        if (first != second) {
+            locks[Math.max(first, second)].unlock();
+        }
+        locks[Math.min(first, second)].unlock();
+    }
+
+    private ReentrantLock lockFor(Long key) {
+        return locks[stripe(key)];
+    }
+
+    private static int stripe(Long id) {
+        return (Long.hashCode(id) * 0x9E3779B9 >>> 16) & (STRIPES - 1);
+    }
+
+    private static long toSeconds(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Reserva de un intervalo en el índice, pendiente hasta que se confirma con el ID del turno guardado.
+     */
+    public final class Reservation {
+
+        private final Long medicalStaffId;
+        private final Long patientId;
+        private final long start;
+        private Long appointmentId;
+
+        private Reservation(Long medicalStaffId, Long patientId, long start) {
+            this.medicalStaffId = medicalStaffId;
+            this.patientId = patientId;
+            this.start = start;
+        }
+
+        /**
+         * Asocia la reserva al turno guardado, para poder liberarla al cancelarlo.
+         *
+         * @param appointmentId ID del turno guardado
+         */
+        public void confirm(Long appointmentId) {
+            AppointmentConflictIndex.this.confirm(this, appointmentId);
+        }
+    }
+}
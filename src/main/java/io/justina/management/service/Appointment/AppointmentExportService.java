@@ -0,0 +1,85 @@
+package io.justina.management.service.Appointment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.justina.management.dto.appointment.AppointmentExportDTO;
+import io.justina.management.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servicio que exporta todos los turnos en formato NDJSON (un objeto JSON por línea).
+ * Las filas se leen con un cursor del lado del servidor y se escriben directamente en el flujo de salida,
+ * por lo que la memoria usada no depende de la cantidad de turnos.
+ */
+@Slf4j
+@Service
+public class AppointmentExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AppointmentRepository appointmentRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    /**
+     * Constructor que inicializa el servicio de exportación.
+     *
+     * @param appointmentRepository Repositorio de turnos
+     * @param objectMapper          Serializador JSON de la aplicación
+     * @param transactionManager    Administrador de transacciones, necesario para mantener abierto el cursor
+     */
+    @Autowired
+    public AppointmentExportService(AppointmentRepository appointmentRepository, ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.appointmentRepository = appointmentRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Escribe todos los turnos en formato NDJSON en el flujo indicado.
+     *
+     * @param outputStream Flujo de salida de la respuesta
+     * @param gzip         Si es true, la salida se comprime con gzip
+     * @throws IOException Si ocurre un error al escribir en el flujo
+     */
+    public void exportNdjson(OutputStream outputStream, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        AtomicLong count = new AtomicLong();
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<AppointmentExportDTO> rows = appointmentRepository.streamAllForExport();
+                     SequenceWriter writer = objectMapper.writerFor(AppointmentExportDTO.class)
+                             .withRootValueSeparator("\n")
+                             .writeValues(target)) {
+                    rows.forEach(row -> {
+                        try {
+                            writer.write(row);
+                            count.incrementAndGet();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exportación de turnos finalizada: {} filas", count.get());
+    }
+}
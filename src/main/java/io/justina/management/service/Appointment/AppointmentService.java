@@ -1,8 +1,17 @@
 package io.justina.management.service.Appointment;
 
+import io.justina.management.dto.apiresponse.CursorPage;
+import io.justina.management.dto.appointment.AppointmentCancelDTO;
 import io.justina.management.dto.appointment.AppointmentDataRegisterDTO;
 import io.justina.management.dto.appointment.AppointmentResponseDTO;
+import io.justina.management.dto.appointment.AppointmentSearchDTO;
+import io.justina.management.dto.appointment.AppointmentStatisticsDTO;
+import io.justina.management.dto.appointment.AvailableSlotDTO;
+import io.justina.management.dto.appointment.BulkAppointmentResultDTO;
+import io.justina.management.enums.Specialty;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,32 +28,102 @@ public interface AppointmentService {
     AppointmentResponseDTO registerAppointment(AppointmentDataRegisterDTO appointmentData);
 
     /**
-     * Obtiene todas las citas médicas registradas en el sistema.
+     * Registra varias citas médicas en una sola transacción.
+     * Las citas inválidas o superpuestas se informan como fallidas y no impiden el registro de las demás.
      *
-     * @return Lista de todas las citas médicas.
+     * @param appointmentsData Lista de DTOs con los datos de las citas médicas.
+     * @return Resultado de cada cita, en el mismo orden de la lista recibida.
      */
-    List<AppointmentResponseDTO> getAllAppointments();
+    List<BulkAppointmentResultDTO> registerAppointments(List<AppointmentDataRegisterDTO> appointmentsData);
+
+    /**
+     * Obtiene una página de las citas médicas registradas en el sistema, ordenadas por fecha.
+     *
+     * @param cursor Cursor opaco devuelto en la página anterior, o null para pedir la primera página.
+     * @param size   Tamaño de página solicitado, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return Página de citas médicas y cursor de la página siguiente.
+     */
+    CursorPage<AppointmentResponseDTO> getAllAppointments(String cursor, int size);
+
+    /**
+     * Busca citas médicas que cumplen los filtros indicados.
+     *
+     * @param filters Filtros de búsqueda.
+     * @param sort    Orden de los resultados, con el formato {@code campo[,asc|desc]}, o null para ordenar por fecha.
+     * @param cursor  Cursor opaco devuelto en la página anterior, o null para pedir la primera página.
+     * @param size    Tamaño de página solicitado, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return Página de citas médicas y cursor de la página siguiente.
+     */
+    CursorPage<AppointmentResponseDTO> searchAppointments(AppointmentSearchDTO filters, String sort, String cursor, int size);
+
+    /**
+     * Cuenta las citas médicas que cumplen los filtros indicados, sin devolverlas.
+     *
+     * @param filters Filtros de búsqueda.
+     * @return Cantidad de citas médicas que cumplen los filtros.
+     */
+    long countAppointments(AppointmentSearchDTO filters);
 
     /**
      * Obtiene todas las citas médicas registradas en el sistema para un paciente específico.
      *
      * @param idPatient Identificador del paciente.
+     * @param from      Fecha y hora desde la cual se buscan citas, o null para obtener todo el historial.
      * @return Lista de todas las citas médicas para el paciente especificado.
      */
-    List<AppointmentResponseDTO> getAppointmentsByPatient(Long idPatient);
+    List<AppointmentResponseDTO> getAppointmentsByPatient(Long idPatient, LocalDateTime from);
     /**
      * Obtiene todas las citas médicas registradas en el sistema para un médico específico.
      *
      * @param idDoctor Identificador del médico.
+     * @param from     Fecha y hora desde la cual se buscan citas, o null para obtener todo el historial.
      * @return Lista de todas las citas médicas para el médico especificado.
      */
-    List<AppointmentResponseDTO> getAppointmentsByMedicalStaff(Long idDoctor);
+    List<AppointmentResponseDTO> getAppointmentsByMedicalStaff(Long idDoctor, LocalDateTime from);
 
     /**
-     * Elimina una cita médica del sistema.
-     * @param idAppointment Identificador de la cita médica que se desea eliminar.
+     * Obtiene la cantidad de citas activas por especialidad, centro de atención, motivo y día.
+     *
+     * @param from Primer día incluido en el detalle por día, o null para no acotarlo.
+     * @param to   Último día incluido en el detalle por día, o null para no acotarlo.
+     * @return Estadísticas de citas activas.
+     */
+    AppointmentStatisticsDTO getStatistics(LocalDate from, LocalDate to);
+
+    /**
+     * Obtiene la agenda de un médico para un día.
+     *
+     * @param idDoctor Identificador del médico.
+     * @param date     Día de la agenda.
+     * @return Lista de las citas médicas del día, ordenada por fecha.
+     */
+    List<AppointmentResponseDTO> getAgenda(Long idDoctor, LocalDate date);
+
+    /**
+     * Busca los primeros turnos libres de una especialidad en un centro de atención.
+     *
+     * @param specialty    Especialidad buscada.
+     * @param healthCenter Centro de atención.
+     * @param from         Fecha y hora a partir de la cual se busca, o null para buscar desde ahora.
+     * @param days         Cantidad de días a recorrer.
+     * @param limit        Cantidad máxima de turnos a devolver.
+     * @return Lista de turnos libres ordenados por fecha.
+     */
+    List<AvailableSlotDTO> findAvailableSlots(Specialty specialty, String healthCenter, LocalDateTime from, int days, int limit);
+
+    /**
+     * Cancela una cita médica, conservándola como inactiva.
+     * @param idAppointment Identificador de la cita médica que se desea cancelar.
+     */
+    void cancelAppointment(Long idAppointment);
+
+    /**
+     * Cancela todas las citas activas que cumplen los filtros indicados.
+     *
+     * @param filters Filtros de la cancelación; debe indicarse al menos uno.
+     * @return Cantidad de citas canceladas.
      */
-    void deleteAppointment(Long idAppointment);
+    int cancelAppointments(AppointmentCancelDTO filters);
 
 }
 
@@ -1,22 +1,46 @@
 package io.justina.management.service.Appointment;
 
+import io.justina.management.dto.apiresponse.CursorPage;
+import io.justina.management.dto.appointment.AppointmentCancelDTO;
+import io.justina.management.dto.appointment.AppointmentChangeEventDTO;
 import io.justina.management.dto.appointment.AppointmentDataRegisterDTO;
 import io.justina.management.dto.appointment.AppointmentResponseDTO;
+import io.justina.management.dto.appointment.AppointmentSearchDTO;
+import io.justina.management.dto.appointment.AppointmentStatisticsDTO;
+import io.justina.management.dto.appointment.AvailableSlotDTO;
+import io.justina.management.dto.appointment.BulkAppointmentResultDTO;
+import io.justina.management.enums.AppointmentChangeType;
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
 import io.justina.management.exception.BadRequestException;
+import io.justina.management.exception.ConflictException;
 import io.justina.management.model.Appointment;
 import io.justina.management.model.MedicalStaff;
 import io.justina.management.model.Patient;
+import io.justina.management.repository.AppointmentCancellationRepository.CancelledAppointment;
 import io.justina.management.repository.AppointmentRepository;
+import io.justina.management.repository.AppointmentSpecifications;
 import io.justina.management.repository.MedicalStaffRepository;
 import io.justina.management.repository.PatientRepository;
+import io.justina.management.utils.KeysetCursor;
+import io.justina.management.utils.TransactionHooks;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 /**
@@ -25,37 +49,71 @@ import java.util.List;
 @Service
 public class AppointmentServiceImpl implements AppointmentService {
 
+    private static final int MAX_AVAILABILITY_DAYS = 60;
+    private static final int MAX_AVAILABILITY_RESULTS = 100;
+    /**
+     * Campos por los que se permite ordenar la búsqueda, para no exponer columnas sin índice.
+     */
+    private static final Set<String> SORTABLE_FIELDS = Set.of("date", "healthCenter", "reason", "id");
+
     /**
      * Repositorio de citas médicas.
      */
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
     private final MedicalStaffRepository medicalStaffRepository;
-    /**
-     * ModelMapper para mapear entidades y DTO.
-     */
-    private final ModelMapper modelMapper = new ModelMapper();
+    private final AppointmentConflictIndex conflictIndex;
+    private final AppointmentAvailabilityIndex availabilityIndex;
+    private final AppointmentAgendaCache agendaCache;
+    private final AppointmentChangeFeed changeFeed;
+    private final AppointmentStatistics statistics;
+    private final Validator validator;
+    private final int bulkMaxSize;
 
     /**
      * Constructor que inicializa el servicio con el repositorio de citas médicas.
      *
      * @param appointmentRepository Repositorio de citas médicas.
+     * @param conflictIndex         Índice de turnos usado para detectar superposiciones.
+     * @param availabilityIndex     Índice de disponibilidad de los profesionales.
+     * @param agendaCache           Caché de agendas diarias de los profesionales.
+     * @param changeFeed            Canal de eventos con los cambios de citas confirmados.
+     * @param statistics            Contadores de citas activas por especialidad, centro, motivo y día.
+     * @param validator             Validador usado para las citas de la carga masiva.
+     * @param bulkMaxSize           Cantidad máxima de citas por carga masiva.
      */
     @Autowired
-    public AppointmentServiceImpl(AppointmentRepository appointmentRepository, MedicalStaffRepository medicalStaffRepository, PatientRepository patientRepository) {
+    public AppointmentServiceImpl(AppointmentRepository appointmentRepository, MedicalStaffRepository medicalStaffRepository,
+                                  PatientRepository patientRepository, AppointmentConflictIndex conflictIndex,
+                                  AppointmentAvailabilityIndex availabilityIndex, AppointmentAgendaCache agendaCache,
+                                  AppointmentChangeFeed changeFeed, AppointmentStatistics statistics,
+                                  Validator validator,
+                                  @Value("${api.appointments.bulk-max-size:5000}") int bulkMaxSize) {
         this.appointmentRepository = appointmentRepository;
         this.medicalStaffRepository = medicalStaffRepository;
         this.patientRepository = patientRepository;
+        this.conflictIndex = conflictIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.agendaCache = agendaCache;
+        this.changeFeed = changeFeed;
+        this.statistics = statistics;
+        this.validator = validator;
+        this.bulkMaxSize = bulkMaxSize;
     }
     /**
      * Registra una nueva cita médica en el sistema.
      *
      * @param appointmentData Datos de la cita médica que se desea registrar.
      * @return DTO con la información de la cita médica registrada.
+     * @throws ConflictException Si el médico o el paciente ya tienen un turno en ese horario.
      */
     @Transactional
     @Override
     public AppointmentResponseDTO registerAppointment(AppointmentDataRegisterDTO appointmentData) {
+        // Reserve the slot before touching the database; released automatically on rollback
+        AppointmentConflictIndex.Reservation reservation = conflictIndex.reserve(
+                appointmentData.getIdMedicalStaff(), appointmentData.getIdPatient(), appointmentData.getDate());
+
         // Retrieve Patient entity
         Patient patient = patientRepository.findById(appointmentData.getIdPatient())
                 .orElseThrow(() -> new BadRequestException("Patient not found"));
@@ -64,88 +122,374 @@ public class AppointmentServiceImpl implements AppointmentService {
         MedicalStaff medicalStaff = medicalStaffRepository.findById(appointmentData.getIdMedicalStaff())
                 .orElseThrow(() -> new BadRequestException("Medical staff not found"));
 
-        // Map AppointmentDataRegisterDTO to Appointment entity
-        Appointment appointment = modelMapper.map(appointmentData, Appointment.class);
-        appointment.setPatient(patient);
-        appointment.setMedicalStaff(medicalStaff);
-        appointment.setActive(true);
-
-        // Save Appointment entity
-        appointment = appointmentRepository.save(appointment);
+        // Build the Appointment entity
+        if (!isValidReason(appointmentData.getReason())) {
+            throw new BadRequestException("Motivo inválido: " + appointmentData.getReason());
+        }
+        Appointment appointment = toEntity(appointmentData, patient, medicalStaff);
 
-        // Map the saved Appointment entity to AppointmentResponseDTO
-        AppointmentResponseDTO responseDTO = modelMapper.map(appointment, AppointmentResponseDTO.class);
-        responseDTO.setIdPatient(patient.getId());
-        responseDTO.setFullNamePatient(patient.getFirstName() + " " + patient.getLastName());
-        responseDTO.setIdMedicalStaff(medicalStaff.getId());
-        responseDTO.setFullNameMedicalStaff(medicalStaff.getFirstName() + " " + medicalStaff.getLastName());
-        responseDTO.setSpecialty(medicalStaff.getSpecialities().toString());
-        responseDTO.setHealthCenter(appointmentData.getHealthCenter());
+        // Save Appointment entity; the exclusion constraint catches overlaps from other instances
+        try {
+            appointment = appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Ya existe un turno superpuesto en ese horario");
+        }
+        reservation.confirm(appointment.getId());
+        availabilityIndex.book(medicalStaff.getId(), appointment.getDate());
+        statistics.record(medicalStaff.getSpecialities(), appointment.getHealthCenter(), appointment.getReason(),
+                appointment.getDate(), 1);
 
+        AppointmentResponseDTO responseDTO = toResponseDTO(appointment);
+        agendaCache.put(responseDTO);
+        changeFeed.publish(AppointmentChangeEventDTO.of(AppointmentChangeType.CREATED, responseDTO));
         return responseDTO;
     }
     /**
-     * Obtiene todas las citas médicas registradas en el sistema.
+     * Registra varias citas médicas en una sola transacción.
+     * Los pacientes y profesionales se obtienen con una consulta IN cada uno, las superposiciones se validan
+     * en memoria con el índice de turnos y las inserciones se envían en lotes JDBC.
+     *
+     * @param appointmentsData Lista de DTOs con los datos de las citas médicas.
+     * @return Resultado de cada cita, en el mismo orden de la lista recibida.
+     * @throws BadRequestException Si la lista supera el tamaño máximo admitido.
+     * @throws ConflictException   Si la base de datos rechaza el lote por una superposición no detectada en memoria.
+     */
+    @Transactional
+    @Override
+    public List<BulkAppointmentResultDTO> registerAppointments(List<AppointmentDataRegisterDTO> appointmentsData) {
+        if (appointmentsData.size() > bulkMaxSize) {
+            throw new BadRequestException("Se admiten como máximo " + bulkMaxSize + " turnos por solicitud");
+        }
+        Set<Long> patientIds = new HashSet<>();
+        Set<Long> medicalStaffIds = new HashSet<>();
+        for (AppointmentDataRegisterDTO appointmentData : appointmentsData) {
+            if (appointmentData != null) {
+                patientIds.add(appointmentData.getIdPatient());
+                medicalStaffIds.add(appointmentData.getIdMedicalStaff());
+            }
+        }
+        patientIds.remove(null);
+        medicalStaffIds.remove(null);
+        Map<Long, Patient> patients = patientRepository.findAllById(patientIds).stream()
+                .collect(Collectors.toMap(Patient::getId, Function.identity()));
+        Map<Long, MedicalStaff> medicalStaffs = medicalStaffRepository.findAllById(medicalStaffIds).stream()
+                .collect(Collectors.toMap(MedicalStaff::getId, Function.identity()));
+
+        BulkAppointmentResultDTO[] results = new BulkAppointmentResultDTO[appointmentsData.size()];
+        List<Appointment> appointments = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        List<AppointmentConflictIndex.Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < appointmentsData.size(); i++) {
+            AppointmentDataRegisterDTO appointmentData = appointmentsData.get(i);
+            String error = validate(appointmentData, patients, medicalStaffs);
+            if (error != null) {
+                results[i] = BulkAppointmentResultDTO.failed(i, error);
+                continue;
+            }
+            try {
+                reservations.add(conflictIndex.reserve(
+                        appointmentData.getIdMedicalStaff(), appointmentData.getIdPatient(), appointmentData.getDate()));
+            } catch (ConflictException e) {
+                results[i] = BulkAppointmentResultDTO.failed(i, e.getMessage());
+                continue;
+            }
+            appointments.add(toEntity(appointmentData, patients.get(appointmentData.getIdPatient()),
+                    medicalStaffs.get(appointmentData.getIdMedicalStaff())));
+            indexes.add(i);
+        }
+
+        try {
+            appointments = appointmentRepository.saveAll(appointments);
+            appointmentRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Ya existe un turno superpuesto en ese horario");
+        }
+
+        for (int j = 0; j < appointments.size(); j++) {
+            Appointment appointment = appointments.get(j);
+            reservations.get(j).confirm(appointment.getId());
+            availabilityIndex.book(appointment.getMedicalStaff().getId(), appointment.getDate());
+            statistics.record(appointment.getMedicalStaff().getSpecialities(), appointment.getHealthCenter(),
+                    appointment.getReason(), appointment.getDate(), 1);
+            AppointmentResponseDTO responseDTO = toResponseDTO(appointment);
+            agendaCache.put(responseDTO);
+            changeFeed.publish(AppointmentChangeEventDTO.of(AppointmentChangeType.CREATED, responseDTO));
+            results[indexes.get(j)] = BulkAppointmentResultDTO.created(indexes.get(j), appointment.getId());
+        }
+        return Arrays.asList(results);
+    }
+
+    private String validate(AppointmentDataRegisterDTO appointmentData, Map<Long, Patient> patients,
+                            Map<Long, MedicalStaff> medicalStaffs) {
+        if (appointmentData == null) {
+            return "El turno no puede ser nulo";
+        }
+        Set<ConstraintViolation<AppointmentDataRegisterDTO>> violations = validator.validate(appointmentData);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if (!patients.containsKey(appointmentData.getIdPatient())) {
+            return "Patient not found";
+        }
+        if (!medicalStaffs.containsKey(appointmentData.getIdMedicalStaff())) {
+            return "Medical staff not found";
+        }
+        if (!isValidReason(appointmentData.getReason())) {
+            return "Motivo inválido: " + appointmentData.getReason();
+        }
+        return null;
+    }
+
+    private static boolean isValidReason(String reason) {
+        return Arrays.stream(ReasonAppointmentEnum.values()).anyMatch(value -> value.name().equals(reason));
+    }
+
+    private Appointment toEntity(AppointmentDataRegisterDTO appointmentData, Patient patient, MedicalStaff medicalStaff) {
+        Appointment appointment = new Appointment();
+        appointment.setPatient(patient);
+        appointment.setMedicalStaff(medicalStaff);
+        appointment.setReason(ReasonAppointmentEnum.valueOf(appointmentData.getReason()));
+        appointment.setDescription(appointmentData.getDescription());
+        appointment.setHealthCenter(appointmentData.getHealthCenter());
+        appointment.setDate(appointmentData.getDate());
+        appointment.setActive(true);
+        return appointment;
+    }
+    /**
+     * Obtiene una página de las citas médicas registradas en el sistema, ordenadas por (fecha, id).
+     *
+     * @param cursor Cursor opaco devuelto en la página anterior, o null para pedir la primera página.
+     * @param size   Tamaño de página solicitado, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return Página de citas médicas y cursor de la página siguiente.
+     */
+    @Override
+    public CursorPage<AppointmentResponseDTO> getAllAppointments(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<AppointmentResponseDTO> appointments;
+        if (cursor == null || cursor.isBlank()) {
+            appointments = appointmentRepository.findFirstPage(limit);
+        } else {
+            KeysetCursor.DateKey key = KeysetCursor.decodeDateKey(cursor);
+            appointments = appointmentRepository.findPageAfter(key.date(), key.id(), limit);
+        }
+        return CursorPage.of(appointments, pageSize, Function.identity(),
+                appointment -> KeysetCursor.encode(appointment.date(), appointment.id()));
+    }
+    /**
+     * Busca citas médicas que cumplen los filtros indicados, paginadas por keyset.
+     * El cursor contiene el valor del campo de orden y el id del último resultado, por lo que cada página se obtiene
+     * con una condición sobre esa clave y no con OFFSET, y las altas o cancelaciones entre páginas no desplazan los resultados.
+     *
+     * @param filters Filtros de búsqueda.
+     * @param sort    Orden de los resultados, con el formato {@code campo[,asc|desc]}, o null para ordenar por fecha.
+     * @param cursor  Cursor opaco devuelto en la página anterior, o null para pedir la primera página.
+     * @param size    Tamaño de página solicitado, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return Página de citas médicas y cursor de la página siguiente.
+     * @throws BadRequestException Si el campo de orden no está permitido o el cursor no es válido.
+     */
+    @Override
+    public CursorPage<AppointmentResponseDTO> searchAppointments(AppointmentSearchDTO filters, String sort, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Sort.Order order = parseSort(sort);
+        String field = order.getProperty();
+        Specification<Appointment> specification = AppointmentSpecifications.matching(filters);
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor.SortKey key = KeysetCursor.decodeSortKey(cursor, field);
+            specification = specification.and(AppointmentSpecifications.after(order, parseSortValue(field, key.value()), key.id()));
+        }
+        Sort fullSort = field.equals("id") ? Sort.by(order) : Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+        List<AppointmentResponseDTO> appointments = appointmentRepository.search(specification, fullSort, pageSize + 1);
+        return CursorPage.of(appointments, pageSize, Function.identity(),
+                last -> KeysetCursor.encode(field, sortValue(last, field), last.id()));
+    }
+
+    /**
+     * Cuenta las citas médicas que cumplen los filtros indicados con una única consulta COUNT.
      *
-     * @return Lista de todas las citas médicas registradas.
+     * @param filters Filtros de búsqueda.
+     * @return Cantidad de citas médicas que cumplen los filtros.
      */
     @Override
-    public List<AppointmentResponseDTO> getAllAppointments() {
-        List<Appointment> appointments = appointmentRepository.findAll();
-        return getAppointmentResponseDTOS(appointments);
+    public long countAppointments(AppointmentSearchDTO filters) {
+        return appointmentRepository.count(AppointmentSpecifications.matching(filters));
+    }
+
+    private static Sort.Order parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.Order.asc("date");
+        }
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SORTABLE_FIELDS.contains(field) || parts.length > 2) {
+            throw new BadRequestException("Orden no permitido: " + sort);
+        }
+        Sort.Direction direction = parts.length == 2
+                ? Sort.Direction.fromOptionalString(parts[1].trim()).orElseThrow(() -> new BadRequestException("Orden no permitido: " + sort))
+                : Sort.Direction.ASC;
+        return new Sort.Order(direction, field);
+    }
+
+    private static String sortValue(AppointmentResponseDTO appointment, String field) {
+        return switch (field) {
+            case "date" -> appointment.date() != null ? appointment.date().toString() : null;
+            case "healthCenter" -> appointment.healthCenter();
+            case "reason" -> appointment.reason();
+            default -> null;
+        };
+    }
+
+    private static Comparable<?> parseSortValue(String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return switch (field) {
+                case "date" -> LocalDateTime.parse(value);
+                case "reason" -> ReasonAppointmentEnum.valueOf(value);
+                default -> value;
+            };
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
     }
+
     /**
      * Obtiene todas las citas médicas registradas en el sistema para un paciente específico.
      *
+     * Si se indica una fecha desde, la consulta solo recorre las particiones de esa fecha en adelante.
+     *
      * @param idPatient Identificador del paciente.
+     * @param from      Fecha y hora desde la cual se buscan citas, o null para obtener todo el historial.
      * @return Lista de todas las citas médicas para el paciente especificado.
      */
     @Override
-    public List<AppointmentResponseDTO> getAppointmentsByPatient(Long idPatient) {
-        List<Appointment> appointments = appointmentRepository.findAllById(Collections.singleton(idPatient));
-        return getAppointmentResponseDTOS(appointments);
+    public List<AppointmentResponseDTO> getAppointmentsByPatient(Long idPatient, LocalDateTime from) {
+        return from == null ? appointmentRepository.findByPatientId(idPatient)
+                : appointmentRepository.findByPatientIdFrom(idPatient, from);
     }
     /**
      * Obtiene todas las citas médicas registradas en el sistema para un médico específico.
      *
+     * Si se indica una fecha desde, la consulta solo recorre las particiones de esa fecha en adelante.
+     *
      * @param idDoctor Identificador del médico.
+     * @param from     Fecha y hora desde la cual se buscan citas, o null para obtener todo el historial.
      * @return Lista de todas las citas médicas para el médico especificado.
      */
     @Override
-    public List<AppointmentResponseDTO> getAppointmentsByMedicalStaff(Long idDoctor) {
-        List<Appointment> appointments = appointmentRepository.findAllById(Collections.singleton(idDoctor));
-        return getAppointmentResponseDTOS(appointments);
+    public List<AppointmentResponseDTO> getAppointmentsByMedicalStaff(Long idDoctor, LocalDateTime from) {
+        return from == null ? appointmentRepository.findByMedicalStaffId(idDoctor)
+                : appointmentRepository.findByMedicalStaffIdFrom(idDoctor, from);
+    }
+    /**
+     * Obtiene las estadísticas de citas activas desde los contadores en memoria, sin consultar la base de datos.
+     *
+     * @param from Primer día incluido en el detalle por día, o null para no acotarlo.
+     * @param to   Último día incluido en el detalle por día, o null para no acotarlo.
+     * @return Estadísticas de citas activas.
+     */
+    @Override
+    public AppointmentStatisticsDTO getStatistics(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("La fecha desde debe ser anterior o igual a la fecha hasta");
+        }
+        return statistics.snapshot(from, to);
+    }
+    /**
+     * Obtiene la agenda de un médico para un día, desde la caché de agendas.
+     *
+     * @param idDoctor Identificador del médico.
+     * @param date     Día de la agenda.
+     * @return Lista de las citas médicas del día, ordenada por fecha.
+     */
+    @Override
+    public List<AppointmentResponseDTO> getAgenda(Long idDoctor, LocalDate date) {
+        return agendaCache.get(idDoctor, date);
     }
 
-    private List<AppointmentResponseDTO> getAppointmentResponseDTOS(List<Appointment> appointments) {
-        List<AppointmentResponseDTO> responseDTOs = new ArrayList<>();
-
-        for (Appointment appointment : appointments) {
-            Patient patient = appointment.getPatient();
-            MedicalStaff medicalStaff = appointment.getMedicalStaff();
-
-            AppointmentResponseDTO responseDTO = modelMapper.map(appointment, AppointmentResponseDTO.class);
-            responseDTO.setIdPatient(patient.getId());
-            responseDTO.setFullNamePatient(patient.getFirstName() + " " + patient.getLastName());
-            responseDTO.setIdMedicalStaff(medicalStaff.getId());
-            responseDTO.setFullNameMedicalStaff(medicalStaff.getFirstName() + " " + medicalStaff.getLastName());
-            responseDTO.setSpecialty(medicalStaff.getSpecialities().toString());
-            responseDTO.setHealthCenter(appointment.getHealthCenter());
+    /**
+     * Busca los primeros turnos libres de una especialidad en un centro de atención.
+     *
+     * @param specialty    Especialidad buscada.
+     * @param healthCenter Centro de atención.
+     * @param from         Fecha y hora a partir de la cual se busca, o null para buscar desde ahora.
+     * @param days         Cantidad de días a recorrer, acotada a {@value #MAX_AVAILABILITY_DAYS}.
+     * @param limit        Cantidad máxima de turnos a devolver, acotada a {@value #MAX_AVAILABILITY_RESULTS}.
+     * @return Lista de turnos libres ordenados por fecha.
+     */
+    @Override
+    public List<AvailableSlotDTO> findAvailableSlots(Specialty specialty, String healthCenter, LocalDateTime from, int days, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from == null || from.isBefore(now) ? now : from;
+        return availabilityIndex.findEarliest(specialty, healthCenter, start,
+                Math.max(1, Math.min(days, MAX_AVAILABILITY_DAYS)),
+                Math.max(1, Math.min(limit, MAX_AVAILABILITY_RESULTS)));
+    }
 
-            responseDTOs.add(responseDTO);
-        }
+    private AppointmentResponseDTO toResponseDTO(Appointment appointment) {
+        Patient patient = appointment.getPatient();
+        MedicalStaff medicalStaff = appointment.getMedicalStaff();
+        return new AppointmentResponseDTO(appointment.getId(),
+                patient.getId(), patient.getFirstName(), patient.getLastName(),
+                medicalStaff.getId(), medicalStaff.getFirstName(), medicalStaff.getLastName(),
+                medicalStaff.getSpecialities(), appointment.getReason(),
+                appointment.getDescription(), appointment.getHealthCenter(), appointment.getDate(), appointment.getActive());
+    }
 
-        return responseDTOs;
+    /**
+     * Cancela una cita médica, marcándola como inactiva para conservar el historial.
+     * Se ejecuta como un único UPDATE, sin leer antes la entidad.
+     *
+     * @param idAppointment Identificador de la cita médica que se desea cancelar.
+     */
+    @Transactional
+    @Override
+    public void cancelAppointment(Long idAppointment) {
+        appointmentRepository.cancel(idAppointment).ifPresent(cancelled -> release(List.of(cancelled)));
     }
 
     /**
-     * Elimina una cita médica del sistema.
+     * Cancela en un único UPDATE todas las citas activas que cumplen los filtros indicados.
      *
-     * @param idAppointment Identificador de la cita médica que se desea eliminar.
+     * @param filters Filtros de la cancelación; debe indicarse al menos uno.
+     * @return Cantidad de citas canceladas.
+     * @throws BadRequestException Si no se indicó ningún filtro o el rango de fechas no es válido.
      */
     @Transactional
     @Override
-    public void deleteAppointment(Long idAppointment) {
-        appointmentRepository.deleteById(idAppointment);
+    public int cancelAppointments(AppointmentCancelDTO filters) {
+        String healthCenter = filters.getHealthCenter() == null || filters.getHealthCenter().isBlank()
+                ? null : filters.getHealthCenter().trim();
+        if (filters.getIdMedicalStaff() == null && healthCenter == null && filters.getFrom() == null && filters.getTo() == null) {
+            throw new BadRequestException("Debe indicarse al menos un filtro para cancelar citas");
+        }
+        if (filters.getFrom() != null && filters.getTo() != null && !filters.getFrom().isBefore(filters.getTo())) {
+            throw new BadRequestException("La fecha desde debe ser anterior a la fecha hasta");
+        }
+        List<CancelledAppointment> cancelled = appointmentRepository.cancelMatching(
+                filters.getIdMedicalStaff(), healthCenter, filters.getFrom(), filters.getTo());
+        release(cancelled);
+        return cancelled.size();
+    }
+
+    /**
+     * Libera de los índices en memoria los turnos cancelados y publica su cancelación, al confirmarse la transacción.
+     */
+    private void release(List<CancelledAppointment> cancelled) {
+        if (cancelled.isEmpty()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> cancelled.forEach(appointment -> conflictIndex.remove(
+                appointment.id(), appointment.medicalStaffId(), appointment.patientId(), appointment.date())));
+        Map<Long, Set<LocalDate>> days = new HashMap<>();
+        for (CancelledAppointment appointment : cancelled) {
+            availabilityIndex.release(appointment.medicalStaffId(), appointment.date());
+            days.computeIfAbsent(appointment.medicalStaffId(), id -> new HashSet<>()).add(appointment.date().toLocalDate());
+            changeFeed.publish(new AppointmentChangeEventDTO(AppointmentChangeType.CANCELLED, appointment.id(),
+                    appointment.medicalStaffId(), appointment.patientId(), appointment.healthCenter(), appointment.date()));
+            statistics.record(appointment.specialty(), appointment.healthCenter(), appointment.reason(), appointment.date(), -1);
+        }
+        days.forEach(agendaCache::evict);
     }
 }
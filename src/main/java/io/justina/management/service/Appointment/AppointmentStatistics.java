@@ -0,0 +1,295 @@
+package io.justina.management.service.Appointment;
+
+import io.justina.management.dto.appointment.AppointmentStatisticsDTO;
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
+import io.justina.management.repository.AppointmentRepository;
+import io.justina.management.utils.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Contadores en memoria de las citas activas por especialidad, centro de atención, motivo y día.
+ * Se cargan con una única consulta agrupada al iniciar, se actualizan con cada alta o cancelación confirmada
+ * y se reconcilian periódicamente con la base de datos, reemplazándolos por completo.
+ * Cada cambio lleva el identificador de la transacción de PostgreSQL que lo confirmó, y los contadores la instantánea
+ * con la que se contaron: un cambio se suma solo si su transacción no era visible en esa instantánea.
+ * Así, los cambios confirmados mientras se ejecuta la consulta de reconciliación no se pierden ni se cuentan dos veces.
+ */
+@Slf4j
+@Component
+public class AppointmentStatistics {
+
+    private static final Object TRANSACTION_ID_KEY = new Object();
+
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate snapshotTransactionTemplate;
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Counters counters = new Counters(TransactionSnapshot.NONE);
+    private Queue<Change> pendingChanges;
+
+    /**
+     * Constructor que inicializa los contadores.
+     *
+     * @param appointmentRepository Repositorio de turnos, usado para cargar y reconciliar los contadores
+     * @param transactionManager    Administrador de transacciones, usado para contar en una única instantánea
+     */
+    @Autowired
+    public AppointmentStatistics(AppointmentRepository appointmentRepository, PlatformTransactionManager transactionManager) {
+        this.appointmentRepository = appointmentRepository;
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Carga los contadores al iniciar la aplicación.
+     */
+    @PostConstruct
+    void init() {
+        counters = load();
+        log.info("Estadísticas de turnos cargadas: {} turnos activos", counters.total.sum());
+    }
+
+    /**
+     * Vuelve a calcular los contadores desde la base de datos, para corregir los cambios hechos fuera de este servicio.
+     */
+    @Scheduled(fixedDelayString = "${api.appointments.statistics.reconcile-interval-ms:600000}",
+            initialDelayString = "${api.appointments.statistics.reconcile-interval-ms:600000}")
+    public synchronized void reconcile() {
+        Queue<Change> changes = new ConcurrentLinkedQueue<>();
+        swapLock.writeLock().lock();
+        try {
+            pendingChanges = changes;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        Counters fresh;
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            clearPendingChanges();
+            throw e;
+        }
+        long drift;
+        swapLock.writeLock().lock();
+        try {
+            changes.forEach(fresh::apply);
+            drift = fresh.total.sum() - counters.total.sum();
+            counters = fresh;
+            pendingChanges = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        if (drift != 0) {
+            log.info("Estadísticas de turnos reconciliadas con una diferencia de {} turnos", drift);
+        }
+    }
+
+    /**
+     * Suma o resta un turno en los contadores al confirmarse la transacción actual.
+     *
+     * @param specialty    Especialidad del profesional
+     * @param healthCenter Centro de atención
+     * @param reason       Motivo del turno
+     * @param date         Fecha y hora del turno
+     * @param delta        1 al registrar un turno, -1 al cancelarlo
+     */
+    public void record(Specialty specialty, String healthCenter, ReasonAppointmentEnum reason, LocalDateTime date, long delta) {
+        Change change = new Change(specialty, healthCenter, reason, date != null ? date.toLocalDate() : null, delta,
+                currentTransactionId());
+        TransactionHooks.afterCommit(() -> apply(change));
+    }
+
+    /**
+     * Obtiene el identificador de la transacción actual, consultándolo una sola vez por transacción.
+     * Sin una transacción activa el cambio ya está confirmado y devuelve null: ese cambio se suma siempre.
+     */
+    private Long currentTransactionId() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Long transactionId = (Long) TransactionSynchronizationManager.getResource(TRANSACTION_ID_KEY);
+        if (transactionId == null) {
+            transactionId = appointmentRepository.currentTransactionId();
+            TransactionSynchronizationManager.bindResource(TRANSACTION_ID_KEY, transactionId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_ID_KEY);
+                }
+            });
+        }
+        return transactionId;
+    }
+
+    /**
+     * Aplica el cambio a los contadores vigentes y, si hay una reconciliación en curso, lo guarda para aplicarlo
+     * también a los contadores nuevos.
+     * El bloqueo de lectura es compartido entre los cambios; solo la reconciliación lo toma en modo exclusivo.
+     */
+    private void apply(Change change) {
+        swapLock.readLock().lock();
+        try {
+            counters.apply(change);
+            Queue<Change> changes = pendingChanges;
+            if (changes != null) {
+                changes.add(change);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void clearPendingChanges() {
+        swapLock.writeLock().lock();
+        try {
+            pendingChanges = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve una copia de los contadores.
+     *
+     * @param from Primer día incluido en el detalle por día, o null para no acotarlo
+     * @param to   Último día incluido en el detalle por día, o null para no acotarlo
+     * @return Estadísticas de las citas activas
+     */
+    public AppointmentStatisticsDTO snapshot(LocalDate from, LocalDate to) {
+        Counters current = counters;
+        NavigableMap<LocalDate, LongAdder> days = current.byDay;
+        if (from != null && to != null) {
+            days = days.subMap(from, true, to, true);
+        } else if (from != null) {
+            days = days.tailMap(from, true);
+        } else if (to != null) {
+            days = days.headMap(to, true);
+        }
+        return new AppointmentStatisticsDTO(current.total.sum(),
+                sums(current.bySpecialty, new HashMap<>()),
+                sums(current.byHealthCenter, new HashMap<>()),
+                sums(current.byReason, new HashMap<>()),
+                sums(days, new TreeMap<>()));
+    }
+
+    /**
+     * Cuenta los turnos activos en una transacción REPEATABLE READ, para que la consulta agrupada use la misma
+     * instantánea que se lee antes.
+     */
+    private Counters load() {
+        return snapshotTransactionTemplate.execute(status -> {
+            Counters loaded = new Counters(TransactionSnapshot.parse(appointmentRepository.currentSnapshot()));
+            for (var row : appointmentRepository.countActiveByDimensions()) {
+                loaded.add(row.getSpecialty(), row.getHealthCenter(), row.getReason(), row.getDay(), row.getTotal());
+            }
+            return loaded;
+        });
+    }
+
+    private static <K, M extends Map<K, Long>> M sums(Map<K, LongAdder> counters, M result) {
+        counters.forEach((key, adder) -> {
+            long sum = adder.sum();
+            if (sum > 0) {
+                result.put(key, sum);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Alta o cancelación confirmada, junto con la transacción que la confirmó (null si no se conoce).
+     */
+    private record Change(Specialty specialty, String healthCenter, ReasonAppointmentEnum reason, LocalDate day,
+                          long delta, Long transactionId) {
+    }
+
+    /**
+     * Instantánea de PostgreSQL: las transacciones menores que {@code xmin} ya terminaron, las mayores o iguales que
+     * {@code xmax} todavía no habían empezado y, entre ambas, las de {@code inProgress} seguían en curso.
+     */
+    record TransactionSnapshot(long xmin, long xmax, Set<Long> inProgress) {
+
+        static final TransactionSnapshot NONE = new TransactionSnapshot(0, 0, Set.of());
+
+        static TransactionSnapshot parse(String snapshot) {
+            String[] parts = snapshot.split(":", -1);
+            Set<Long> inProgress = parts[2].isEmpty() ? Set.of()
+                    : Arrays.stream(parts[2].split(",")).map(Long::valueOf).collect(Collectors.toSet());
+            return new TransactionSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+        }
+
+        /**
+         * Indica si los cambios de una transacción confirmada ya eran visibles en la instantánea.
+         */
+        boolean includes(Long transactionId) {
+            if (transactionId == null || transactionId >= xmax) {
+                return false;
+            }
+            return transactionId < xmin || !inProgress.contains(transactionId);
+        }
+    }
+
+    private static final class Counters {
+        private final TransactionSnapshot snapshot;
+        private final LongAdder total = new LongAdder();
+        private final Map<Specialty, LongAdder> bySpecialty = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byHealthCenter = new ConcurrentHashMap<>();
+        private final Map<ReasonAppointmentEnum, LongAdder> byReason = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<LocalDate, LongAdder> byDay = new ConcurrentSkipListMap<>();
+
+        private Counters(TransactionSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Suma el cambio salvo que su transacción ya estuviera incluida en la consulta que cargó estos contadores.
+         */
+        private void apply(Change change) {
+            if (!snapshot.includes(change.transactionId())) {
+                add(change.specialty(), change.healthCenter(), change.reason(), change.day(), change.delta());
+            }
+        }
+
+        private void add(Specialty specialty, String healthCenter, ReasonAppointmentEnum reason, LocalDate day, long delta) {
+            total.add(delta);
+            add(bySpecialty, specialty, delta);
+            add(byHealthCenter, healthCenter, delta);
+            add(byReason, reason, delta);
+            add(byDay, day, delta);
+        }
+
+        private static <K> void add(Map<K, LongAdder> counters, K key, long delta) {
+            if (key != null) {
+                counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            }
+        }
+    }
+}
@@ -1,58 +1,141 @@
 package io.justina.management.service.authentication;
 
+import io.justina.management.config.security.AuthenticatedUser;
 import io.justina.management.dto.jwttoken.DataJWTTokenDTO;
 import io.justina.management.dto.user.UserAuthenticateDataDTO;
-import io.justina.management.model.MedicalStaff;
-import io.justina.management.model.Patient;
+import io.justina.management.enums.RoleEnum;
 import io.justina.management.model.User;
+import io.justina.management.service.token.TokenClaims;
+import io.justina.management.service.token.TokenRevocationService;
 import io.justina.management.service.token.TokenService;
+import io.justina.management.service.token.TokenVersionRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 /**
  * Servicio de autenticación que implementa la interfaz UserDetailsService y IAuthenticationService.
  * Este servicio gestiona la autenticación de usuarios, la generación de tokens JWT,
  * y la verificación de roles y permisos de acceso.
  */
+@Slf4j
 @Service
 public class AuthenticationService implements IAuthenticationService {
 
     private final TokenService tokenService;
     private final AuthenticationManager authenticationManager;
+    private final LoginThrottleService loginThrottleService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     /**
      * Constructor para inicializar el servicio de autenticación.
      * @param tokenService         Servicio para la generación de tokens JWT.
      * @param authenticationManager Administrador de autenticación para autenticar usuarios.
+     * @param loginThrottleService Servicio que limita los intentos de inicio de sesión.
+     * @param tokenRevocationService Servicio para la revocación de tokens JWT.
+     * @param userDetailsService   Servicio para cargar el usuario al renovar sus tokens.
+     * @param tokenVersionRegistry Registro de la versión vigente de los tokens de cada usuario.
      */
     @Autowired
-    public AuthenticationService(TokenService tokenService, @Lazy AuthenticationManager authenticationManager) {
+    public AuthenticationService(TokenService tokenService, @Lazy AuthenticationManager authenticationManager,
+                                 LoginThrottleService loginThrottleService, TokenRevocationService tokenRevocationService,
+                                 UserDetailsService userDetailsService, TokenVersionRegistry tokenVersionRegistry) {
         this.tokenService = tokenService;
         this.authenticationManager = authenticationManager;
+        this.loginThrottleService = loginThrottleService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
 
     }
 
     /**
      * Autentíca a un usuario con las credenciales proporcionadas y genera un token JWT.
      *
+     * Los intentos que superan el límite por correo electrónico o por IP se rechazan antes de verificar la contraseña.
+     *
      * @param userAuthenticateDataDTO Datos de autenticación del usuario (correo electrónico y contraseña).
+     * @param clientIp                Dirección IP desde la que se realiza el intento.
      * @return DTO que contiene el token JWT generado.
      */
     @Override
-    public DataJWTTokenDTO authenticate(UserAuthenticateDataDTO userAuthenticateDataDTO) {
+    public DataJWTTokenDTO authenticate(UserAuthenticateDataDTO userAuthenticateDataDTO, String clientIp) {
+        loginThrottleService.checkAttempt(userAuthenticateDataDTO.getEmail(), clientIp);
         Authentication authenticationToken = new UsernamePasswordAuthenticationToken(userAuthenticateDataDTO.getEmail(), userAuthenticateDataDTO.getPassword());
         Authentication authentication = authenticationManager.authenticate(authenticationToken);
+        loginThrottleService.loginSucceeded(userAuthenticateDataDTO.getEmail());
         User user = (User) authentication.getPrincipal();
         String jwtToken = tokenService.generateToken(user);
-        System.out.println("Generated token: " + jwtToken + " for user: " + userAuthenticateDataDTO.getEmail());
-        return new DataJWTTokenDTO(jwtToken);
+        log.debug("Token emitido para el usuario {}", user.getId());
+        return new DataJWTTokenDTO(jwtToken, tokenService.generateRefreshToken(user));
     }
+
+    /**
+     * Emite un nuevo par de tokens a partir de un token de renovación válido.
+     * El token de renovación utilizado queda revocado, por lo que cada uno sirve una sola vez: la revocación
+     * es la verificación, de modo que si dos solicitudes usan el mismo token al mismo tiempo solo una obtiene tokens nuevos.
+     *
+     * @param refreshToken Token de renovación enviado por el cliente.
+     * @return DTO que contiene el nuevo token de acceso y el nuevo token de renovación.
+     * @throws BadCredentialsException Si el token de renovación es inválido, expiró o fue revocado.
+     */
+    @Override
+    public DataJWTTokenDTO refresh(String refreshToken) {
+        TokenClaims claims = verifyOrNull(refreshToken);
+        if (claims == null || !claims.isRefreshToken() || claims.isExpired(Instant.now()) || tokenVersionRegistry.isOutdated(claims)) {
+            throw new BadCredentialsException("Token de renovación inválido");
+        }
+        if (!(userDetailsService.loadUserByUsername(claims.subject()) instanceof User user)
+                || Boolean.FALSE.equals(user.getActive())) {
+            throw new BadCredentialsException("Token de renovación inválido");
+        }
+        if (!tokenRevocationService.revoke(claims)) {
+            throw new BadCredentialsException("Token de renovación inválido");
+        }
+        return new DataJWTTokenDTO(tokenService.generateToken(user), tokenService.generateRefreshToken(user));
+    }
+
+    /**
+     * Cierra la sesión revocando el token de acceso y, si se envía, el token de renovación.
+     *
+     * @param accessToken  Token de acceso de la solicitud.
+     * @param refreshToken Token de renovación del cliente, puede ser nulo.
+     */
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        TokenClaims accessClaims = verifyOrNull(accessToken);
+        if (accessClaims != null) {
+            tokenRevocationService.revoke(accessClaims);
+        }
+        TokenClaims refreshClaims = verifyOrNull(refreshToken);
+        if (refreshClaims != null && accessClaims != null && refreshClaims.subject().equals(accessClaims.subject())) {
+            tokenRevocationService.revoke(refreshClaims);
+        }
+    }
+
+    private TokenClaims verifyOrNull(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return tokenService.verifyToken(token);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
     /**
      * Verifica si el usuario autenticado tiene el rol de administrador.
      *
@@ -61,8 +144,8 @@ public class AuthenticationService implements IAuthenticationService {
      */
     @Override
     public boolean isAdmin(Authentication authentication) {
-        return authentication.getAuthorities().stream()
-                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && user.hasAnyRole(RoleEnum.ADMIN.mask());
     }
 
     /**
@@ -74,11 +157,9 @@ public class AuthenticationService implements IAuthenticationService {
     @Override
     public boolean isAuthenticatedUserOwner(Long id) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication.getPrincipal() instanceof Patient) {
-            Patient patient = (Patient) authentication.getPrincipal();
-            System.out.println("isAuthenticatedUserOwner: Authenticated patient ID = " + patient.getId());
-            System.out.println("isAuthenticatedUserOwner: Requested patient ID = " + id);
-            return patient.getId().equals(id);
+        if (authentication.getPrincipal() instanceof AuthenticatedUser patient && patient.hasAnyRole(RoleEnum.PATIENT.mask())) {
+            log.debug("isAuthenticatedUserOwner: paciente autenticado {}, paciente solicitado {}", patient.id(), id);
+            return patient.id().equals(id);
         }
         return false;
     }
@@ -92,22 +173,20 @@ public class AuthenticationService implements IAuthenticationService {
     @Override
     public boolean verifyUserAccess(Long id) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        System.out.println("verifyUserAccess: User authorities = " + authentication.getAuthorities());
-        System.out.println("verifyUserAccess: Requested patient ID = " + id);
+        log.debug("verifyUserAccess: recurso solicitado {}", id);
 
         if (isAdmin(authentication)) {
-            System.out.println("verifyUserAccess: User is ADMIN, access granted");
+            log.debug("verifyUserAccess: usuario ADMIN, acceso permitido");
             return true;
         }
 
-        if (authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_PATIENT"))) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user && user.hasAnyRole(RoleEnum.PATIENT.mask())) {
             boolean isOwner = isAuthenticatedUserOwner(id);
-            System.out.println("verifyUserAccess: User is PATIENT, isOwner = " + isOwner);
+            log.debug("verifyUserAccess: usuario PATIENT, propietario = {}", isOwner);
             return isOwner;
         }
 
-        System.out.println("verifyUserAccess: Access denied");
+        log.debug("verifyUserAccess: acceso denegado");
         return false;
     }
     /**
@@ -119,10 +198,8 @@ public class AuthenticationService implements IAuthenticationService {
     @Override
     public Long getAuthenticatedUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication.getPrincipal() instanceof User user) {
-            System.out.println("authentication desde el service= " + authentication);
-
-            return user.getId();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.id();
         } else {
             throw new IllegalStateException("Could not get authenticated user ID");
         }
@@ -13,9 +13,26 @@ public interface IAuthenticationService {
      * Autentica a un usuario con las credenciales proporcionadas y devuelve un token JWT.
      *
      * @param userAuthenticateDataDTO Datos de autenticación del usuario (correo electrónico y contraseña).
+     * @param clientIp                Dirección IP desde la que se realiza el intento.
      * @return DTO que contiene el token JWT generado.
      */
-    DataJWTTokenDTO authenticate(UserAuthenticateDataDTO userAuthenticateDataDTO);
+    DataJWTTokenDTO authenticate(UserAuthenticateDataDTO userAuthenticateDataDTO, String clientIp);
+
+    /**
+     * Emite un nuevo token de acceso y un nuevo token de renovación a partir de un token de renovación válido.
+     *
+     * @param refreshToken Token de renovación enviado por el cliente.
+     * @return DTO que contiene los nuevos tokens.
+     */
+    DataJWTTokenDTO refresh(String refreshToken);
+
+    /**
+     * Cierra la sesión revocando el token de acceso y el token de renovación indicados.
+     *
+     * @param accessToken  Token de acceso de la solicitud.
+     * @param refreshToken Token de renovación del cliente, puede ser nulo.
+     */
+    void logout(String accessToken, String refreshToken);
 
     /**
      * Verifica si el usuario autenticado tiene el rol de administrador.
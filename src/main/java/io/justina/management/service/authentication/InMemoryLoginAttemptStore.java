@@ -0,0 +1,97 @@
+package io.justina.management.service.authentication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Almacenamiento en memoria de los intentos de inicio de sesión.
+ * Cada clave tiene un contador de ventana deslizante sin bloqueos basado en {@link LongAdder}, que reparte
+ * los incrementos concurrentes en celdas independientes. La cantidad de claves está acotada y las claves
+ * sin actividad se descartan automáticamente.
+ */
+@Component
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final Cache<String, SlidingWindowCounter> counters;
+
+    /**
+     * Constructor que inicializa el almacenamiento con sus límites de memoria.
+     *
+     * @param maximumKeys Cantidad máxima de claves en memoria
+     * @param idleTimeout Tiempo sin intentos luego del cual una clave se descarta
+     */
+    @Autowired
+    public InMemoryLoginAttemptStore(@Value("${api.security.login-throttle.maximum-keys:100000}") long maximumKeys,
+                                     @Value("${api.security.login-throttle.idle-timeout:10m}") Duration idleTimeout) {
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public long recordAttempt(String key, Instant now, Duration window) {
+        return counters.get(key, k -> new SlidingWindowCounter())
+                .increment(now.toEpochMilli(), window.toMillis());
+    }
+
+    @Override
+    public void reset(String key) {
+        counters.invalidate(key);
+    }
+
+    /**
+     * Contador de ventana deslizante aproximada: combina la ventana fija actual con la anterior,
+     * ponderando la anterior según la fracción de ella que todavía cae dentro de la ventana deslizante.
+     */
+    private static final class SlidingWindowCounter {
+
+        private final AtomicReference<Window> window = new AtomicReference<>(new Window(0, 0));
+
+        long increment(long nowMillis, long windowMillis) {
+            Window current = currentWindow(nowMillis, windowMillis);
+            current.count.increment();
+            long elapsed = nowMillis - current.start;
+            double previousWeight = (double) (windowMillis - elapsed) / windowMillis;
+            return (long) (current.previousCount * previousWeight) + current.count.sum();
+        }
+
+        private Window currentWindow(long nowMillis, long windowMillis) {
+            long start = nowMillis - Math.floorMod(nowMillis, windowMillis);
+            while (true) {
+                Window existing = window.get();
+                if (existing.start == start) {
+                    return existing;
+                }
+                long previousCount = existing.start == start - windowMillis ? existing.count.sum() : 0;
+                Window next = new Window(start, previousCount);
+                if (window.compareAndSet(existing, next)) {
+                    return next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Ventana fija con su contador y la cantidad de intentos de la ventana anterior.
+     */
+    private static final class Window {
+
+        private final long start;
+        private final long previousCount;
+        private final LongAdder count = new LongAdder();
+
+        Window(long start, long previousCount) {
+            this.start = start;
+            this.previousCount = previousCount;
+        }
+    }
+}
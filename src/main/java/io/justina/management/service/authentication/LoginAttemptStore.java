@@ -0,0 +1,29 @@
+package io.justina.management.service.authentication;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Interfaz que define el almacenamiento de los contadores de intentos de inicio de sesión.
+ * La implementación por defecto guarda los contadores en memoria; para compartir el estado entre varios nodos
+ * se puede registrar otra implementación (por ejemplo, sobre una base compartida) marcada como {@code @Primary}.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Registra un intento para la clave indicada y devuelve la cantidad estimada de intentos en la ventana deslizante.
+     *
+     * @param key    Clave del contador (correo electrónico o dirección IP).
+     * @param now    Instante del intento.
+     * @param window Duración de la ventana deslizante.
+     * @return Cantidad estimada de intentos en la ventana, incluyendo el actual.
+     */
+    long recordAttempt(String key, Instant now, Duration window);
+
+    /**
+     * Reinicia el contador de la clave indicada.
+     *
+     * @param key Clave del contador.
+     */
+    void reset(String key);
+}
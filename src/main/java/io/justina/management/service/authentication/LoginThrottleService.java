@@ -0,0 +1,76 @@
+package io.justina.management.service.authentication;
+
+import io.justina.management.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Servicio que limita los intentos de inicio de sesión por correo electrónico y por dirección IP.
+ * Los intentos que superan el límite se rechazan antes de verificar la contraseña, evitando el costo de BCrypt.
+ */
+@Service
+public class LoginThrottleService {
+
+    private final LoginAttemptStore loginAttemptStore;
+    private final Duration window;
+    private final long maxAttemptsPerEmail;
+    private final long maxAttemptsPerIp;
+
+    /**
+     * Constructor que inicializa el servicio con el almacenamiento de intentos y sus límites.
+     *
+     * @param loginAttemptStore   Almacenamiento de los contadores de intentos
+     * @param window              Duración de la ventana deslizante
+     * @param maxAttemptsPerEmail Intentos permitidos por correo electrónico dentro de la ventana
+     * @param maxAttemptsPerIp    Intentos permitidos por dirección IP dentro de la ventana
+     */
+    @Autowired
+    public LoginThrottleService(LoginAttemptStore loginAttemptStore,
+                                @Value("${api.security.login-throttle.window:1m}") Duration window,
+                                @Value("${api.security.login-throttle.max-attempts-per-email:5}") long maxAttemptsPerEmail,
+                                @Value("${api.security.login-throttle.max-attempts-per-ip:50}") long maxAttemptsPerIp) {
+        this.loginAttemptStore = loginAttemptStore;
+        this.window = window;
+        this.maxAttemptsPerEmail = maxAttemptsPerEmail;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+    }
+
+    /**
+     * Registra un intento de inicio de sesión y lo rechaza si se superó alguno de los límites.
+     *
+     * @param email    Correo electrónico con el que se intenta iniciar sesión
+     * @param clientIp Dirección IP del cliente
+     * @throws TooManyRequestsException Si se superó el límite de intentos por correo electrónico o por IP
+     */
+    public void checkAttempt(String email, String clientIp) {
+        Instant now = Instant.now();
+        long ipAttempts = clientIp != null ? loginAttemptStore.recordAttempt(ipKey(clientIp), now, window) : 0;
+        long emailAttempts = loginAttemptStore.recordAttempt(emailKey(email), now, window);
+        if (ipAttempts > maxAttemptsPerIp || emailAttempts > maxAttemptsPerEmail) {
+            throw new TooManyRequestsException("Demasiados intentos de inicio de sesión, intente más tarde",
+                    window.toSeconds());
+        }
+    }
+
+    /**
+     * Reinicia el contador del correo electrónico luego de un inicio de sesión exitoso.
+     *
+     * @param email Correo electrónico autenticado
+     */
+    public void loginSucceeded(String email) {
+        loginAttemptStore.reset(emailKey(email));
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+}
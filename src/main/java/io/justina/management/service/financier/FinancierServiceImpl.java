@@ -1,15 +1,16 @@
 package io.justina.management.service.financier;
 
+import io.justina.management.dto.apiresponse.CursorPage;
 import io.justina.management.dto.financier.FinancierRegisterDTO;
 import io.justina.management.dto.financier.FinancierResponseDTO;
 import io.justina.management.model.Financier;
 import io.justina.management.repository.FinancierRepository;
+import io.justina.management.utils.KeysetCursor;
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,15 +35,22 @@ public class FinancierServiceImpl implements IFinancierService {
     }
 
     /**
-     * Obtiene todos los financiadores registrados en el sistema.
+     * Obtiene una página de los financiadores registrados en el sistema, ordenados por ID.
      *
-     * @return Lista de todos los financiadores como objetos FinancierResponseDTO.
+     * @param cursor Cursor opaco devuelto en la página anterior, o null para pedir la primera página.
+     * @param size   Tamaño de página solicitado, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return Página de financiadores y cursor de la página siguiente.
      */
     @Override
-    public List<FinancierResponseDTO> getAllFinanciers() {
-        List<Financier> financierList = financierRepository.findAll();
-        Type listType = new TypeToken<List<FinancierResponseDTO>>() {}.getType();
-        return modelMapper.map(financierList, listType);
+    public CursorPage<FinancierResponseDTO> getAllFinanciers(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Financier> financierList = cursor == null || cursor.isBlank()
+                ? financierRepository.findAllByOrderByIdFinancierAsc(limit)
+                : financierRepository.findByIdFinancierGreaterThanOrderByIdFinancierAsc(KeysetCursor.decodeUuid(cursor), limit);
+        return CursorPage.of(financierList, pageSize,
+                financier -> modelMapper.map(financier, FinancierResponseDTO.class),
+                financier -> KeysetCursor.encode(financier.getIdFinancier()));
     }
 
     /**
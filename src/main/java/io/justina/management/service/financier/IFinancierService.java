@@ -1,10 +1,10 @@
 package io.justina.management.service.financier;
 
+import io.justina.management.dto.apiresponse.CursorPage;
 import io.justina.management.dto.financier.FinancierRegisterDTO;
 import io.justina.management.dto.financier.FinancierResponseDTO;
 
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -13,11 +13,13 @@ import java.util.UUID;
 public interface IFinancierService {
 
     /**
-     * Obtiene todos los financiadores registrados en el sistema.
+     * Obtiene una página de los financiadores registrados en el sistema, ordenados por ID.
      *
-     * @return Lista de todos los financiadores como objetos FinancierResponseDTO.
+     * @param cursor Cursor opaco devuelto en la página anterior, o null para pedir la primera página.
+     * @param size   Tamaño de página solicitado, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return Página de financiadores y cursor de la página siguiente.
      */
-    List<FinancierResponseDTO> getAllFinanciers();
+    CursorPage<FinancierResponseDTO> getAllFinanciers(String cursor, int size);
 
     /**
      * Obtiene un financiador por su ID.
@@ -1,10 +1,14 @@
 package io.justina.management.service.medicalstaff;
 
+import io.justina.management.dto.apiresponse.CursorPage;
 import io.justina.management.dto.medicalstaff.MedicalStaffResponseDTO;
 import io.justina.management.dto.medicalstaff.MedicalStaffRegisterDTO;
+import io.justina.management.dto.medicalstaff.WorkingHoursRegisterDTO;
+import io.justina.management.dto.medicalstaff.WorkingHoursResponseDTO;
 
 import java.util.List;
 
+
 /**
  * Interfaz que define los métodos para gestionar el personal médico en el sistema.
  */
@@ -27,11 +31,13 @@ public interface IMedicalStaffService {
     MedicalStaffResponseDTO getMedicalStaffById(Long id);
 
     /**
-     * Obtiene todos los miembros del personal médico registrados en el sistema.
+     * Obtiene una página de los miembros del personal médico registrados en el sistema, ordenados por ID.
      *
-     * @return Lista de todos los miembros del personal médico como objetos MedicalStaffResponseDTO.
+     * @param cursor Cursor opaco devuelto en la página anterior, o null para pedir la primera página.
+     * @param size   Tamaño de página solicitado, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return Página del personal médico y cursor de la página siguiente.
      */
-    List<MedicalStaffResponseDTO> getAllMedicalStaff();
+    CursorPage<MedicalStaffResponseDTO> getAllMedicalStaff(String cursor, int size);
 
     /**
      * Desactiva a un miembro del personal médico por su ID.
@@ -41,10 +47,28 @@ public interface IMedicalStaffService {
     void deactivateMedicalStaff(Long id);
 
     /**
-     * Obtiene todos los miembros del personal médico activos en el sistema.
+     * Obtiene una página de los miembros del personal médico activos en el sistema, ordenados por ID.
      *
-     * @return Lista de todos los miembros del personal médico activos como objetos MedicalStaffResponseDTO.
+     * @param cursor Cursor opaco devuelto en la página anterior, o null para pedir la primera página.
+     * @param size   Tamaño de página solicitado, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return Página del personal médico activo y cursor de la página siguiente.
      */
-    List<MedicalStaffResponseDTO> getMedicalStaffByActive();
-}
+    CursorPage<MedicalStaffResponseDTO> getMedicalStaffByActive(String cursor, int size);
+
+    /**
+     * Agrega una franja al horario de atención de un miembro del personal médico.
+     *
+     * @param id                      ID del miembro del personal médico.
+     * @param workingHoursRegisterDTO DTO con los datos de la franja.
+     * @return DTO que representa la franja registrada.
+     */
+    WorkingHoursResponseDTO addWorkingHours(Long id, WorkingHoursRegisterDTO workingHoursRegisterDTO);
 
+    /**
+     * Obtiene el horario de atención de un miembro del personal médico.
+     *
+     * @param id ID del miembro del personal médico.
+     * @return Lista de franjas activas, ordenadas por día y hora de inicio.
+     */
+    List<WorkingHoursResponseDTO> getWorkingHours(Long id);
+}
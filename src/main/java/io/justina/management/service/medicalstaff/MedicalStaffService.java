@@ -1,19 +1,31 @@
 package io.justina.management.service.medicalstaff;
 
+import io.justina.management.config.database.OptimisticRetryExecutor;
+import io.justina.management.dto.apiresponse.CursorPage;
+import io.justina.management.dto.appointment.AppointmentCancelDTO;
 import io.justina.management.dto.medicalstaff.MedicalStaffRegisterDTO;
 import io.justina.management.dto.medicalstaff.MedicalStaffResponseDTO;
+import io.justina.management.dto.medicalstaff.WorkingHoursRegisterDTO;
+import io.justina.management.dto.medicalstaff.WorkingHoursResponseDTO;
 import io.justina.management.enums.RoleEnum;
 import io.justina.management.exception.BadRequestException;
 import io.justina.management.model.MedicalStaff;
+import io.justina.management.model.WorkingHours;
 import io.justina.management.repository.MedicalStaffRepository;
+import io.justina.management.repository.WorkingHoursRepository;
+import io.justina.management.service.Appointment.AppointmentAvailabilityIndex;
+import io.justina.management.service.Appointment.AppointmentService;
+import io.justina.management.service.token.TokenVersionRegistry;
+import io.justina.management.service.user.UserDetailsServiceImpl;
+import io.justina.management.utils.KeysetCursor;
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 /**
  * Servicio para la gestión del personal médico.
  * Implementa la interfaz IMedicalStaffService.
@@ -23,18 +35,39 @@ import java.util.stream.Collectors;
 public class MedicalStaffService implements IMedicalStaffService{
 
     private final MedicalStaffRepository medicalStaffRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final WorkingHoursRepository workingHoursRepository;
+    private final AppointmentAvailabilityIndex availabilityIndex;
+    private final AppointmentService appointmentService;
+    private final OptimisticRetryExecutor optimisticRetry;
 
     /**
      * Constructor para la clase MedicalStaffService.
      *
      * @param medicalStaffRepository Repositorio de personal médico
      * @param passwordEncoder Codificador de contraseñas
+     * @param userDetailsService Servicio de usuarios autenticables, para invalidar su caché
+     * @param tokenVersionRegistry Registro de versiones de tokens, para invalidar las sesiones al desactivar
+     * @param workingHoursRepository Repositorio de horarios de atención
+     * @param availabilityIndex Índice de disponibilidad, actualizado al cambiar el horario o el estado
+     * @param appointmentService Servicio de citas médicas, para cancelar los turnos futuros al desactivar
+     * @param optimisticRetry Ejecutor que reintenta las escrituras en conflicto de versión
      */
     @Autowired
-    public MedicalStaffService(MedicalStaffRepository medicalStaffRepository, PasswordEncoder passwordEncoder) {
+    public MedicalStaffService(MedicalStaffRepository medicalStaffRepository, PasswordEncoder passwordEncoder,
+                               UserDetailsServiceImpl userDetailsService, TokenVersionRegistry tokenVersionRegistry,
+                               WorkingHoursRepository workingHoursRepository, AppointmentAvailabilityIndex availabilityIndex,
+                               AppointmentService appointmentService, OptimisticRetryExecutor optimisticRetry) {
         this.medicalStaffRepository = medicalStaffRepository;
-        this.passwordEncoder = (BCryptPasswordEncoder) passwordEncoder;
+        this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.workingHoursRepository = workingHoursRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.appointmentService = appointmentService;
+        this.optimisticRetry = optimisticRetry;
 
     }
 
@@ -54,6 +87,7 @@ public class MedicalStaffService implements IMedicalStaffService{
         medicalStaff.setRoleEnum(RoleEnum.valueOf("DOCTOR"));
         medicalStaff.setActive(true);
         medicalStaff = medicalStaffRepository.save(medicalStaff);
+        userDetailsService.evictUser(medicalStaff.getEmail());
         return modelMapper.map(medicalStaff, MedicalStaffResponseDTO.class);
     }
     /**
@@ -70,50 +104,98 @@ public class MedicalStaffService implements IMedicalStaffService{
         return modelMapper.map(medicalStaff, MedicalStaffResponseDTO.class);
     }
     /**
-     * Obtiene la lista de todo el personal médico registrado.
+     * Obtiene una página de todo el personal médico registrado, ordenado por ID.
      *
-     * @return Lista de DTOs con la información de todo el personal médico
+     * @param cursor Cursor opaco devuelto en la página anterior, o null para pedir la primera página
+     * @param size   Tamaño de página solicitado
+     * @return Página de DTOs con la información del personal médico y cursor de la página siguiente
      */
     @Override
-    public List<MedicalStaffResponseDTO> getAllMedicalStaff() {
-        List<MedicalStaff> medicalStaffs = medicalStaffRepository.findAll();
-        return getMedicalStaffResponseDTOS(medicalStaffs);
+    public CursorPage<MedicalStaffResponseDTO> getAllMedicalStaff(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decodeLong(cursor);
+        List<MedicalStaff> medicalStaffs = medicalStaffRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(medicalStaffs, pageSize,
+                medicalStaff -> modelMapper.map(medicalStaff, MedicalStaffResponseDTO.class),
+                medicalStaff -> KeysetCursor.encode(medicalStaff.getId()));
     }
 
     /**
-     * Obtiene la lista de todo el personal médico activo.
+     * Obtiene una página del personal médico activo, ordenado por ID.
      *
-     * @return Lista de DTOs con la información de todo el personal médico activo
+     * @param cursor Cursor opaco devuelto en la página anterior, o null para pedir la primera página
+     * @param size   Tamaño de página solicitado
+     * @return Página de DTOs con la información del personal médico activo y cursor de la página siguiente
      */
     @Override
-    public List<MedicalStaffResponseDTO> getMedicalStaffByActive() {
-        List<MedicalStaff> medicalStaffs = medicalStaffRepository.findByActiveTrue();
-        return getMedicalStaffResponseDTOS(medicalStaffs);
+    public CursorPage<MedicalStaffResponseDTO> getMedicalStaffByActive(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decodeLong(cursor);
+        List<MedicalStaff> medicalStaffs = medicalStaffRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(medicalStaffs, pageSize,
+                medicalStaff -> modelMapper.map(medicalStaff, MedicalStaffResponseDTO.class),
+                medicalStaff -> KeysetCursor.encode(medicalStaff.getId()));
     }
     /**
-     * Desactiva el personal médico especificado por su ID.
+     * Desactiva el personal médico especificado por su ID y cancela, en una sola sentencia, sus turnos futuros.
+     * Si otra operación modificó al profesional al mismo tiempo, la desactivación se reintenta con los datos actualizados.
      *
      * @param id ID del personal médico a desactivar
      * @throws RuntimeException Si no se encuentra ningún personal médico con el ID especificado
      */
-    @Transactional
     @Override
     public void deactivateMedicalStaff(Long id) {
+        optimisticRetry.run("medicalStaff.deactivate", () -> {
+            MedicalStaff medicalStaff = medicalStaffRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Medical Staff not found with id: " + id));
+            medicalStaff.setActive(false);
+            tokenVersionRegistry.invalidateSessions(medicalStaff);
+            userDetailsService.evictUser(medicalStaff.getEmail());
+            availabilityIndex.replaceSchedule(id, List.of());
+            appointmentService.cancelAppointments(new AppointmentCancelDTO(id, null, LocalDateTime.now(), null));
+        });
+    }
+
+    /**
+     * Agrega una franja al horario de atención del personal médico especificado.
+     *
+     * @param id ID del personal médico
+     * @param workingHoursRegisterDTO DTO con los datos de la franja
+     * @return DTO con la información de la franja registrada
+     * @throws BadRequestException Si el personal médico no existe o la franja no es válida
+     */
+    @Transactional
+    @Override
+    public WorkingHoursResponseDTO addWorkingHours(Long id, WorkingHoursRegisterDTO workingHoursRegisterDTO) {
         MedicalStaff medicalStaff = medicalStaffRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Medical Staff not found with id: " + id));
-        medicalStaff.setActive(false);
+                .orElseThrow(() -> new BadRequestException("Medical Staff not found with id: " + id));
+        if (!workingHoursRegisterDTO.getStartTime().isBefore(workingHoursRegisterDTO.getEndTime())) {
+            throw new BadRequestException("La hora de inicio debe ser anterior a la hora de fin");
+        }
+        WorkingHours workingHours = modelMapper.map(workingHoursRegisterDTO, WorkingHours.class);
+        workingHours.setMedicalStaff(medicalStaff);
+        workingHours.setActive(true);
+        workingHours = workingHoursRepository.save(workingHours);
+        availabilityIndex.replaceSchedule(id, workingHoursRepository.findActiveSchedulesByMedicalStaffId(id));
+        return toWorkingHoursDTO(workingHours);
     }
 
     /**
-     * Convierte una lista de objetos MedicalStaff en una lista de DTO MedicalStaffResponseDTO.
+     * Obtiene el horario de atención del personal médico especificado.
      *
-     * @param medicalStaffs Lista de objetos MedicalStaff
-     * @return Lista de DTOs MedicalStaffResponseDTO
+     * @param id ID del personal médico
+     * @return Lista de DTOs con las franjas activas, ordenadas por día y hora de inicio
      */
-    private List<MedicalStaffResponseDTO> getMedicalStaffResponseDTOS(List<MedicalStaff> medicalStaffs) {
-        return medicalStaffs.stream()
-                .map(medicalStaff -> modelMapper.map(medicalStaff, MedicalStaffResponseDTO.class))
-                .collect(Collectors.toList());
+    @Override
+    public List<WorkingHoursResponseDTO> getWorkingHours(Long id) {
+        return workingHoursRepository.findByMedicalStaffIdAndActiveTrueOrderByDayOfWeekAscStartTimeAsc(id).stream()
+                .map(this::toWorkingHoursDTO)
+                .toList();
     }
 
+    private WorkingHoursResponseDTO toWorkingHoursDTO(WorkingHours workingHours) {
+        return new WorkingHoursResponseDTO(workingHours.getId(), workingHours.getMedicalStaff().getId(),
+                workingHours.getDayOfWeek(), workingHours.getStartTime(), workingHours.getEndTime(),
+                workingHours.getHealthCenter());
+    }
 }
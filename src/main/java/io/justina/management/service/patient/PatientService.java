@@ -1,21 +1,23 @@
 package io.justina.management.service.patient;
 
 
+import io.justina.management.dto.apiresponse.CursorPage;
 import io.justina.management.dto.patient.PatientRequestDTO;
 import io.justina.management.dto.patient.PatientResponseDTO;
 
-import java.util.List;
 /**
  * Interfaz que define los métodos para gestionar pacientes en el sistema.
  */
 public interface PatientService {
 
     /**
-     * Obtiene todos los pacientes registrados en el sistema.
+     * Obtiene una página de los pacientes registrados en el sistema, ordenados por ID.
      *
-     * @return Lista de todos los pacientes como objetos PatientResponseDTO.
+     * @param cursor Cursor opaco devuelto en la página anterior, o null para pedir la primera página.
+     * @param size   Tamaño de página solicitado, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return Página de pacientes y cursor de la página siguiente.
      */
-    List<PatientResponseDTO> getAllPatients();
+    CursorPage<PatientResponseDTO> getAllPatients(String cursor, int size);
 
     /**
      * Obtiene un paciente por su ID.
@@ -1,17 +1,23 @@
 package io.justina.management.service.patient;
 
 
+import io.justina.management.config.database.OptimisticRetryExecutor;
 import io.justina.management.config.mapper.ModelMapperConfig;
+import io.justina.management.dto.apiresponse.CursorPage;
 import io.justina.management.dto.patient.PatientRequestDTO;
 import io.justina.management.dto.patient.PatientResponseDTO;
 import io.justina.management.enums.RoleEnum;
 import io.justina.management.exception.BadRequestException;
 import io.justina.management.model.Patient;
 import io.justina.management.repository.PatientRepository;
+import io.justina.management.service.token.TokenVersionRegistry;
+import io.justina.management.service.user.UserDetailsServiceImpl;
+import io.justina.management.utils.KeysetCursor;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -26,32 +32,48 @@ public class PatientServiceImpl implements PatientService {
 
 
 
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
 
     private final PatientRepository patientRepository;
 
     private final ModelMapperConfig modelMapperConfig;
 
+    private final UserDetailsServiceImpl userDetailsService;
+
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    private final OptimisticRetryExecutor optimisticRetry;
+
     @Autowired
     public PatientServiceImpl(PasswordEncoder passwordEncoder,
-                              PatientRepository patientRepository, ModelMapperConfig modelMapperConfig) {
+                              PatientRepository patientRepository, ModelMapperConfig modelMapperConfig,
+                              UserDetailsServiceImpl userDetailsService, TokenVersionRegistry tokenVersionRegistry,
+                              OptimisticRetryExecutor optimisticRetry) {
 
-        this.passwordEncoder = (BCryptPasswordEncoder) passwordEncoder;
+        this.passwordEncoder = passwordEncoder;
         this.patientRepository = patientRepository;
         this.modelMapperConfig = modelMapperConfig;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.optimisticRetry = optimisticRetry;
     }
     /**
-     * Obtiene todos los pacientes registrados en el sistema.
+     * Obtiene una página de los pacientes registrados en el sistema, ordenados por ID.
      *
-     * @return Lista de todos los pacientes como objetos PatientResponseDTO.
+     * @param cursor Cursor opaco devuelto en la página anterior, o null para pedir la primera página.
+     * @param size   Tamaño de página solicitado, acotado a {@link CursorPage#MAX_SIZE}.
+     * @return Página de pacientes y cursor de la página siguiente.
      */
     @Override
-    public List<PatientResponseDTO> getAllPatients() {
+    public CursorPage<PatientResponseDTO> getAllPatients(String cursor, int size) {
         try{
-            List<Patient> patients = patientRepository.findAll();
-            return patients.stream()
-                    .map(patient -> modelMapperConfig.modelMapperPatient().map(patient, PatientResponseDTO.class))
-                    .toList();
+            int pageSize = CursorPage.clampSize(size);
+            Long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decodeLong(cursor);
+            List<Patient> patients = patientRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+            ModelMapper modelMapper = modelMapperConfig.modelMapperPatient();
+            return CursorPage.of(patients, pageSize,
+                    patient -> modelMapper.map(patient, PatientResponseDTO.class),
+                    patient -> KeysetCursor.encode(patient.getId()));
         }catch (BadRequestException e){
             throw new BadRequestException("Error al obtener los pacientes o el usuario no tiene permisos: " + e.getMessage());
         }
@@ -112,6 +134,7 @@ public class PatientServiceImpl implements PatientService {
             patient.setActive(true);
             patient.setRoleEnum(RoleEnum.valueOf("PATIENT"));
             patient = patientRepository.save(patient);
+            userDetailsService.evictUser(patient.getEmail());
             return modelMapperConfig.modelMapperPatient().map(patient, PatientResponseDTO.class);
         }catch (BadRequestException e){
             throw new BadRequestException("Error al guardar el paciente o el usuario no esta autorizado: " + e.getMessage());
@@ -122,15 +145,20 @@ public class PatientServiceImpl implements PatientService {
 
     /**
      * Desactiva a un paciente por su ID.
+     * Si otra operación modificó al paciente al mismo tiempo, la desactivación se reintenta con los datos actualizados.
      *
      * @param patientId iD del paciente que se desea desactivar.
      * @throws EntityNotFoundException Si no se encuentra un paciente con el ID especificado.
      */
     @Override
     public void deactivatePatient(Long patientId) {
-        Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new EntityNotFoundException("Patient not found with id: " + patientId));
-        patient.setActive(false);
-        patientRepository.save(patient);
+        optimisticRetry.run("patient.deactivate", () -> {
+            Patient patient = patientRepository.findById(patientId)
+                    .orElseThrow(() -> new EntityNotFoundException("Patient not found with id: " + patientId));
+            patient.setActive(false);
+            tokenVersionRegistry.invalidateSessions(patient);
+            patientRepository.save(patient);
+            userDetailsService.evictUser(patient.getEmail());
+        });
     }
 }
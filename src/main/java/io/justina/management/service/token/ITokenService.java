@@ -13,6 +13,14 @@ public interface ITokenService {
      */
     String generateToken(User user);
 
+    /**
+     * Genera un token de renovación para el usuario especificado.
+     *
+     * @param user Usuario para el cual se genera el token.
+     * @return Token de renovación generado.
+     */
+    String generateRefreshToken(User user);
+
     /**
      * Obtiene el sujeto (subject) del token especificado.
      *
@@ -21,4 +29,12 @@ public interface ITokenService {
      */
     String getSubject(String token);
 
+    /**
+     * Verifica el token especificado y obtiene sus datos en una sola pasada.
+     *
+     * @param token Token que se desea verificar.
+     * @return Datos del token verificado.
+     */
+    TokenClaims verifyToken(String token);
+
 }
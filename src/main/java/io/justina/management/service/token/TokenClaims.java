@@ -0,0 +1,65 @@
+package io.justina.management.service.token;
+
+import java.time.Instant;
+
+/**
+ * Record que representa los datos de un token JWT ya verificado.
+ *
+ * @param subject   Sujeto del token (correo electrónico del usuario).
+ * @param id        Identificador del usuario.
+ * @param role      Rol del usuario.
+ * @param name      Nombre del usuario.
+ * @param expiresAt Instante de expiración del token.
+ * @param tokenId   Identificador único del token (claim "jti").
+ * @param type      Tipo de token: acceso o renovación.
+ * @param version   Versión de los tokens del usuario al momento de emitirlo.
+ */
+public record TokenClaims(
+        String subject,
+        Long id,
+        String role,
+        String name,
+        Instant expiresAt,
+        String tokenId,
+        String type,
+        int version
+) {
+
+    /**
+     * Tipo de los tokens de acceso, usados para autenticar cada solicitud.
+     */
+    public static final String ACCESS = "access";
+
+    /**
+     * Tipo de los tokens de renovación, usados solo para obtener un nuevo token de acceso.
+     */
+    public static final String REFRESH = "refresh";
+
+    /**
+     * Indica si el token es de acceso. Los tokens emitidos antes de existir el claim de tipo se consideran de acceso.
+     *
+     * @return true si el token es de acceso, false de lo contrario.
+     */
+    public boolean isAccessToken() {
+        return type == null || ACCESS.equals(type);
+    }
+
+    /**
+     * Indica si el token es de renovación.
+     *
+     * @return true si el token es de renovación, false de lo contrario.
+     */
+    public boolean isRefreshToken() {
+        return REFRESH.equals(type);
+    }
+
+    /**
+     * Indica si el token ya expiró en el instante indicado.
+     *
+     * @param now Instante de referencia.
+     * @return true si el token está expirado, false de lo contrario.
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+}
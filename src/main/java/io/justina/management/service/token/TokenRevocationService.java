@@ -0,0 +1,166 @@
+package io.justina.management.service.token;
+
+import io.justina.management.model.RevokedToken;
+import io.justina.management.repository.RevokedTokenRepository;
+import io.justina.management.utils.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Servicio para la revocación de tokens JWT antes de su expiración.
+ * Los identificadores revocados se guardan en la tabla "tokens_revocados" y en un filtro de Bloom en memoria,
+ * que se reconstruye al iniciar. La consulta por solicitud es O(1) y solo los positivos del filtro,
+ * que incluyen sus falsos positivos, se confirman contra la base de datos.
+ * Las revocaciones hechas en otras instancias se agregan al filtro consultando periódicamente las posteriores a la última lectura.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final long expectedTokens;
+    private final Duration clockSkew;
+    private volatile BloomFilter revokedTokens;
+    private volatile BloomFilter rebuildingTokens;
+    private volatile Instant lastUpdate = Instant.EPOCH;
+
+    /**
+     * Constructor que inicializa el servicio de revocación.
+     *
+     * @param revokedTokenRepository Repositorio de tokens revocados
+     * @param transactionManager     Administrador de transacciones, usado para recorrer la tabla al reconstruir el filtro
+     * @param expectedTokens         Cantidad esperada de tokens revocados vigentes, usada para dimensionar el filtro
+     * @param clockSkew              Margen con el que se vuelven a leer las revocaciones recientes, para tolerar diferencias de reloj entre instancias
+     */
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${api.security.revocation.expected-tokens:1000000}") long expectedTokens,
+                                  @Value("${api.security.revocation.clock-skew:5s}") Duration clockSkew) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.expectedTokens = expectedTokens;
+        this.clockSkew = clockSkew;
+    }
+
+    /**
+     * Construye el filtro de Bloom con los tokens revocados vigentes al iniciar la aplicación.
+     */
+    @PostConstruct
+    void init() {
+        lastUpdate = Instant.now();
+        rebuild();
+    }
+
+    /**
+     * Revoca el token indicado hasta su expiración.
+     * La inserción es la verificación: si dos solicitudes revocan el mismo token al mismo tiempo,
+     * la clave primaria rechaza la segunda y solo una recibe true.
+     *
+     * @param claims Datos del token a revocar
+     * @return true si esta llamada revocó el token, false si ya estaba revocado, expiró o no tiene identificador
+     */
+    public boolean revoke(TokenClaims claims) {
+        if (claims.tokenId() == null || claims.isExpired(Instant.now())) {
+            return false;
+        }
+        try {
+            revokedTokenRepository.saveAndFlush(new RevokedToken(claims.tokenId(), claims.expiresAt(), Instant.now()));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+        remember(claims.tokenId());
+        return true;
+    }
+
+    /**
+     * Agrega al filtro las revocaciones registradas desde la última lectura, incluidas las de otras instancias.
+     * Hasta la siguiente lectura, un token revocado en otra instancia sigue siendo aceptado en esta.
+     */
+    @Scheduled(fixedDelayString = "${api.security.revocation.refresh-interval-ms:1000}")
+    public void refresh() {
+        Instant since = lastUpdate.minus(clockSkew);
+        Instant latest = lastUpdate;
+        for (RevokedToken revokedToken : revokedTokenRepository.findByRevokedAtAfter(since)) {
+            remember(revokedToken.getTokenId());
+            if (revokedToken.getRevokedAt().isAfter(latest)) {
+                latest = revokedToken.getRevokedAt();
+            }
+        }
+        lastUpdate = latest;
+    }
+
+    /**
+     * Agrega un token ya registrado en la base de datos al filtro, y también al que se está reconstruyendo.
+     * El filtro en reconstrucción se lee primero: si todavía no existe, la consulta que lo llena verá el registro.
+     */
+    private void remember(String tokenId) {
+        BloomFilter rebuilding = rebuildingTokens;
+        if (rebuilding != null) {
+            rebuilding.put(tokenId);
+        }
+        revokedTokens.put(tokenId);
+    }
+
+    /**
+     * Indica si el token con el identificador indicado fue revocado.
+     *
+     * @param tokenId Identificador del token (claim "jti")
+     * @return true si el token fue revocado, false de lo contrario
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !revokedTokens.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    /**
+     * Elimina los registros de tokens ya expirados y reconstruye el filtro sin ellos.
+     * Se ejecuta diariamente a las 3 AM.
+     */
+    @Scheduled(cron = "${api.security.revocation.cleanup-cron:0 0 3 * * *}")
+    public void purgeExpired() {
+        transactionTemplate.executeWithoutResult(status -> revokedTokenRepository.deleteExpired(Instant.now()));
+        rebuild();
+    }
+
+    /**
+     * Reconstruye el filtro de Bloom a partir de los tokens revocados vigentes en la base de datos.
+     * Las revocaciones que ocurren durante la reconstrucción se agregan también al nuevo filtro.
+     */
+    private synchronized void rebuild() {
+        BloomFilter filter = new BloomFilter(expectedTokens, FALSE_POSITIVE_RATE);
+        AtomicLong count = new AtomicLong();
+        this.rebuildingTokens = filter;
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> tokenIds = revokedTokenRepository.streamActiveTokenIds(Instant.now())) {
+                tokenIds.forEach(tokenId -> {
+                    filter.put(tokenId);
+                    count.incrementAndGet();
+                });
+            }
+        });
+        this.revokedTokens = filter;
+        this.rebuildingTokens = null;
+        log.info("Tokens revocados cargados: {}", count.get());
+    }
+}
@@ -1,20 +1,22 @@
 package io.justina.management.service.token;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
-import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import io.justina.management.model.User;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.UUID;
 
 
 /**
@@ -25,11 +27,48 @@ import java.util.Date;
 @Service
 public class TokenService implements ITokenService {
 
+    private static final String ISSUER = "justina.io";
+
     @Value("${api.security.secret}")
     private String apiSecret;
 
     /**
-     * Genera un token JWT para el usuario proporcionado.
+     * Duración de los tokens de acceso.
+     */
+    @Value("${api.security.access-token.expiration:15m}")
+    private Duration accessTokenExpiration;
+
+    /**
+     * Duración de los tokens de renovación.
+     */
+    @Value("${api.security.refresh-token.expiration:168h}")
+    private Duration refreshTokenExpiration;
+
+    /**
+     * Algoritmo de firma, creado una sola vez al iniciar y compartido entre hilos.
+     */
+    @Getter(AccessLevel.NONE)
+    private Algorithm algorithm;
+
+    /**
+     * Verificador de tokens, creado una sola vez al iniciar y compartido entre hilos.
+     */
+    @Getter(AccessLevel.NONE)
+    private JWTVerifier verifier;
+
+    /**
+     * Inicializa el algoritmo de firma y el verificador a partir del secreto configurado.
+     */
+    @PostConstruct
+    void init() {
+        this.algorithm = Algorithm.HMAC256(apiSecret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+    }
+
+    /**
+     * Genera un token JWT de acceso, de corta duración, para el usuario proporcionado.
      *
      * @param user El usuario para el cual se genera el token
      * @return El token JWT generado
@@ -37,15 +76,32 @@ public class TokenService implements ITokenService {
      * @throws RuntimeException Si ocurre un error al crear el token
      */
     public String generateToken(User user) {
+        return createToken(user, TokenClaims.ACCESS, accessTokenExpiration);
+    }
+
+    /**
+     * Genera un token JWT de renovación para el usuario proporcionado.
+     *
+     * @param user El usuario para el cual se genera el token
+     * @return El token JWT de renovación generado
+     * @throws RuntimeException Si ocurre un error al crear el token
+     */
+    public String generateRefreshToken(User user) {
+        return createToken(user, TokenClaims.REFRESH, refreshTokenExpiration);
+    }
+
+    private String createToken(User user, String type, Duration expiration) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret);
             return JWT.create()
-                    .withIssuer("justina.io")
+                    .withIssuer(ISSUER)
+                    .withJWTId(UUID.randomUUID().toString())
                     .withSubject(user.getEmail())
                     .withClaim("id", user.getId())
                     .withClaim("role", user.getRoleEnum().name())
                     .withClaim("nombre", user.getFirstName())
-                    .withExpiresAt(Date.from(generateExpirationDate()))
+                    .withClaim("type", type)
+                    .withClaim("ver", user.getTokenVersion() != null ? user.getTokenVersion() : 0)
+                    .withExpiresAt(Date.from(Instant.now().plus(expiration)))
                     .sign(algorithm);
         }
         catch (JWTCreationException exception){
@@ -64,71 +120,47 @@ public class TokenService implements ITokenService {
         if(token == null || token.isBlank()){
             throw new IllegalArgumentException("Token cannot be null or empty.");
         }
-        DecodedJWT verifier;
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret);
-            verifier = JWT.require(algorithm)
-                    .withIssuer("justina.io")
-                    .build()
-                    .verify(token);
-            verifier.getSubject();
-        } catch (JWTCreationException exception){
-            throw new RuntimeException("Failed to verify token.");
-        }
-        if(verifier.getSubject() == null){
-            throw new RuntimeException("Verifier invalid");
-        }
-        return verifier.getSubject();
+        return verifyToken(token).subject();
     }
 
 
     public String getUsernameFromToken(String token) {
+        return verifyToken(token).subject();
+    }
+
+    /**
+     * Verifica la firma del token JWT y extrae en una sola pasada los datos necesarios para autenticar la solicitud.
+     *
+     * @param token El token JWT a verificar
+     * @return Los datos del token verificado
+     * @throws RuntimeException Si el token es nulo o no contiene sujeto
+     */
+    @Override
+    public TokenClaims verifyToken(String token) {
         if(token == null){
             throw new RuntimeException("Token nulo");
         }
-        DecodedJWT verifier;
-        try{
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret);
-            verifier = JWT.require(algorithm)
-                    .withIssuer("justina.io")
-                    .build()
-                    .verify(token);
-            verifier.getSubject();
-        }catch (JWTCreationException e){
-            throw new RuntimeException("Error al verificar el token");
-        }
-        if (verifier.getSubject() == null){
+        DecodedJWT jwt = verifier.verify(token);
+        if (jwt.getSubject() == null){
             throw new RuntimeException("Verificador invalido");
         }
-        return verifier.getSubject();
+        Date expiresAt = jwt.getExpiresAt();
+        Integer version = jwt.getClaim("ver").asInt();
+        return new TokenClaims(
+                jwt.getSubject(),
+                jwt.getClaim("id").asLong(),
+                jwt.getClaim("role").asString(),
+                jwt.getClaim("nombre").asString(),
+                expiresAt != null ? expiresAt.toInstant() : null,
+                jwt.getId(),
+                jwt.getClaim("type").asString(),
+                version != null ? version : 0);
     }
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-    private boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-    private Date getExpirationDateFromToken(String token) {
-        DecodedJWT jwt = JWT.decode(token);
-        return jwt.getExpiresAt();
+        TokenClaims claims = verifyToken(token);
+        return (claims.subject().equals(userDetails.getUsername()) && !claims.isExpired(Instant.now()));
     }
     public String getRoleFromToken(String token) {
-        try {
-            DecodedJWT jwt = JWT.decode(token);
-            return jwt.getClaim("role").asString();
-        } catch (JWTDecodeException exception){
-            throw new RuntimeException("Invalid token");
-        }
-    }
-
-    /**
-     * Genera la fecha de expiración del token JWT.
-     *
-     * @return La fecha de expiración del token JWT (1 hora desde ahora)
-     */
-    private Instant generateExpirationDate(){
-        return LocalDateTime.now().plusHours(168).toInstant(ZoneOffset.of("-05:00"));
+        return verifyToken(token).role();
     }
-}
\ No newline at end of file
+}
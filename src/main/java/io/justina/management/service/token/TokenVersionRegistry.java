@@ -0,0 +1,105 @@
+package io.justina.management.service.token;
+
+import io.justina.management.model.User;
+import io.justina.management.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro en memoria de la versión vigente de los tokens de cada usuario.
+ * Solo guarda los usuarios cuya versión fue incrementada alguna vez; el resto se considera en versión 0.
+ * Se carga al iniciar y se actualiza de forma incremental, por lo que la verificación por solicitud no consulta la base de datos.
+ */
+@Service
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final Duration clockSkew;
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+    private volatile Instant lastUpdate = Instant.EPOCH;
+
+    /**
+     * Constructor que inicializa el registro de versiones.
+     *
+     * @param userRepository Repositorio de usuarios
+     * @param clockSkew      Margen con el que se vuelven a leer los cambios recientes, para tolerar diferencias de reloj entre instancias
+     */
+    @Autowired
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${api.security.token-version.clock-skew:5s}") Duration clockSkew) {
+        this.userRepository = userRepository;
+        this.clockSkew = clockSkew;
+    }
+
+    /**
+     * Carga todas las versiones modificadas al iniciar la aplicación.
+     */
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    /**
+     * Lee de la base de datos las versiones modificadas desde la última actualización.
+     * Permite que las invalidaciones hechas en otra instancia se apliquen en esta.
+     */
+    @Scheduled(fixedDelayString = "${api.security.token-version.refresh-interval-ms:1000}")
+    public void refresh() {
+        Instant since = lastUpdate.minus(clockSkew);
+        Instant latest = lastUpdate;
+        for (var view : userRepository.findTokenVersionsUpdatedAfter(since)) {
+            versions.merge(view.getId(), view.getTokenVersion(), Math::max);
+            if (view.getTokenVersionUpdatedAt().isAfter(latest)) {
+                latest = view.getTokenVersionUpdatedAt();
+            }
+        }
+        lastUpdate = latest;
+    }
+
+    /**
+     * Indica si el token fue emitido con una versión anterior a la vigente para su usuario.
+     *
+     * @param claims Datos del token verificado
+     * @return true si el token quedó invalidado, false de lo contrario
+     */
+    public boolean isOutdated(TokenClaims claims) {
+        if (claims.id() == null) {
+            return false;
+        }
+        return claims.version() < versions.getOrDefault(claims.id(), 0);
+    }
+
+    /**
+     * Incrementa la versión de los tokens del usuario, invalidando todas sus sesiones.
+     * La entidad debe guardarse a continuación; el registro en memoria se actualiza al confirmarse la transacción,
+     * o de inmediato si no hay una transacción activa.
+     *
+     * @param user Usuario cuyas sesiones se invalidan
+     */
+    public void invalidateSessions(User user) {
+        int version = (user.getTokenVersion() != null ? user.getTokenVersion() : 0) + 1;
+        user.setTokenVersion(version);
+        user.setTokenVersionUpdatedAt(Instant.now());
+        Long id = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.merge(id, version, Math::max);
+                }
+            });
+        } else {
+            versions.merge(id, version, Math::max);
+        }
+    }
+}
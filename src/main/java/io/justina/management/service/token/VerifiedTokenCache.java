@@ -0,0 +1,108 @@
+package io.justina.management.service.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Caché acotada de tokens JWT ya verificados.
+ * Evita repetir la verificación HMAC de un mismo token en cada solicitud: la clave es el hash SHA-256
+ * del token y cada entrada se descarta en el instante en que el token expira.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final TokenService tokenService;
+    private final Cache<String, TokenClaims> cache;
+
+    /**
+     * Constructor que inicializa la caché y registra sus métricas de aciertos y fallos.
+     *
+     * @param tokenService  Servicio para la verificación de tokens JWT
+     * @param meterRegistry Registro de métricas de la aplicación
+     * @param maximumSize   Cantidad máxima de tokens verificados que se mantienen en memoria
+     */
+    @Autowired
+    public VerifiedTokenCache(TokenService tokenService, MeterRegistry meterRegistry,
+                              @Value("${api.security.token-cache.maximum-size:10000}") long maximumSize) {
+        this.tokenService = tokenService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    /**
+     * Obtiene los datos de un token, verificándolo solo si no se encuentra en la caché.
+     *
+     * @param token Token JWT recibido en la solicitud
+     * @return Datos del token verificado, o null si el token ya expiró
+     */
+    public TokenClaims verify(String token) {
+        String key = hash(token);
+        TokenClaims claims = cache.getIfPresent(key);
+        if (claims == null) {
+            claims = tokenService.verifyToken(token);
+            if (claims.isExpired(Instant.now())) {
+                return null;
+            }
+            cache.put(key, claims);
+        } else if (claims.isExpired(Instant.now())) {
+            cache.invalidate(key);
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Descarta todos los tokens verificados de la caché.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Política de expiración que mantiene cada entrada solo hasta la expiración de su token.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
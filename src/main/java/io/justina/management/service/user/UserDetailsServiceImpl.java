@@ -1,25 +1,112 @@
 package io.justina.management.service.user;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.justina.management.model.User;
 import io.justina.management.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+
+/**
+ * Servicio que carga los usuarios por correo electrónico para Spring Security.
+ * Mantiene una caché acotada y con TTL de los usuarios cargados, que se invalida explícitamente
+ * cuando un usuario es desactivado o registrado nuevamente.
+ * También actualiza el hash de la contraseña cuando fue generado con un factor de trabajo desactualizado.
+ */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final Cache<String, User> userCache;
 
+    /**
+     * Constructor que inicializa el servicio y la caché de usuarios.
+     *
+     * @param userRepository Repositorio de usuarios
+     * @param meterRegistry  Registro de métricas de la aplicación
+     * @param maximumSize    Cantidad máxima de usuarios en caché
+     * @param timeToLive     Tiempo de vida de cada entrada de la caché
+     */
     @Autowired
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, MeterRegistry meterRegistry,
+                                  @Value("${api.security.user-cache.maximum-size:5000}") long maximumSize,
+                                  @Value("${api.security.user-cache.time-to-live:10m}") Duration timeToLive) {
         this.userRepository = userRepository;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "auth.users");
     }
 
+    /**
+     * Carga el usuario asociado al correo electrónico, consultando la base de datos solo si no está en caché.
+     * La entidad devuelta es compartida entre solicitudes y no debe modificarse.
+     *
+     * @param username Correo electrónico del usuario
+     * @return Usuario encontrado
+     * @throws UsernameNotFoundException Si no existe un usuario con el correo electrónico indicado
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmail(username)
+        User user = userCache.getIfPresent(username);
+        if (user != null) {
+            return user;
+        }
+        user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+        userCache.put(username, user);
+        return user;
+    }
+
+    /**
+     * Reemplaza el hash de la contraseña del usuario luego de un inicio de sesión exitoso.
+     * Spring Security lo invoca cuando el hash almacenado usa un factor de trabajo menor al configurado.
+     *
+     * @param user        Usuario autenticado
+     * @param newPassword Nuevo hash de la contraseña
+     * @return Usuario con la contraseña actualizada
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        entity = userRepository.save(entity);
+        evictUser(entity.getEmail());
+        return entity;
+    }
+
+    /**
+     * Descarta de la caché el usuario asociado al correo electrónico.
+     * Si hay una transacción activa, se vuelve a descartar al confirmarse para no conservar datos anteriores al cambio.
+     *
+     * @param email Correo electrónico del usuario
+     */
+    public void evictUser(String email) {
+        if (email == null) {
+            return;
+        }
+        userCache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userCache.invalidate(email);
+                }
+            });
+        }
     }
 }
@@ -10,10 +10,7 @@ import io.justina.management.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -29,7 +26,8 @@ import java.util.stream.Collectors;
 public class UserService implements IUserService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsServiceImpl userDetailsService;
     private final ModelMapper modelMapper = new ModelMapper();
 
     /**
@@ -37,11 +35,13 @@ public class UserService implements IUserService {
      *
      * @param userRepository Repositorio de usuarios utilizado para acceder a la capa de persistencia.
      * @param passwordEncoder Encoder utilizado para codificar las contraseñas de usuario.
+     * @param userDetailsService Servicio de usuarios autenticables, para invalidar su caché.
      */
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserDetailsServiceImpl userDetailsService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = (BCryptPasswordEncoder) passwordEncoder;
+        this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
     }
 
     /**
@@ -60,7 +60,8 @@ public class UserService implements IUserService {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
             user.setActive(true);
             user.setRoleEnum(RoleEnum.valueOf("ADMIN"));
-            userRepository.save(user);
+            user = userRepository.save(user);
+            userDetailsService.evictUser(user.getEmail());
             return modelMapper.map(user, UserResponseDataDTO.class);
         }
 
@@ -73,12 +74,8 @@ public class UserService implements IUserService {
      * @throws RuntimeException Si el usuario autenticado no tiene el rol de administrador.
      */
     @Override
+    @PreAuthorize("@access.isAdmin()")
     public List<UserResponseDataDTO> getAllUsers() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        boolean hasAdminRole = authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
-        if (!hasAdminRole) {
-            throw new RuntimeException("Access denied. Only admins can perform this action.");
-        }
         List<User> users = userRepository.findAll();
         List<User> adminUsers = users.stream()
                 .filter(user -> user.getRoleEnum() == RoleEnum.ADMIN)
@@ -0,0 +1,171 @@
+package io.justina.management.utils;
+
+import io.justina.management.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Codifica y decodifica los cursores opacos de la paginación por keyset.
+ * El cursor contiene los valores de la clave de ordenamiento del último elemento devuelto,
+ * codificados en Base64 URL-safe para que el cliente no dependa de su formato.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Codifica un cursor sobre un identificador numérico.
+     *
+     * @param id Identificador del último elemento.
+     * @return Cursor opaco.
+     */
+    public static String encode(Long id) {
+        return encodeRaw(String.valueOf(id));
+    }
+
+    /**
+     * Codifica un cursor sobre un identificador UUID.
+     *
+     * @param id Identificador del último elemento.
+     * @return Cursor opaco.
+     */
+    public static String encode(UUID id) {
+        return encodeRaw(id.toString());
+    }
+
+    /**
+     * Codifica un cursor sobre la clave compuesta (fecha, identificador).
+     *
+     * @param date Fecha del último elemento.
+     * @param id   Identificador del último elemento.
+     * @return Cursor opaco.
+     */
+    public static String encode(LocalDateTime date, Long id) {
+        return encodeRaw(date + SEPARATOR + id);
+    }
+
+    /**
+     * Codifica un cursor sobre la clave (campo de orden, identificador) de una búsqueda con orden elegido por el cliente.
+     * El cursor incluye el nombre del campo, para rechazarlo si se usa con otro orden.
+     *
+     * @param field Campo de orden.
+     * @param value Valor del campo de orden en el último elemento, puede ser nulo.
+     * @param id    Identificador del último elemento.
+     * @return Cursor opaco.
+     */
+    public static String encode(String field, String value, Long id) {
+        return encodeRaw(field + SEPARATOR + id + SEPARATOR + (value == null ? "" : "=" + value));
+    }
+
+    /**
+     * Decodifica un cursor sobre un identificador numérico.
+     *
+     * @param cursor Cursor recibido del cliente.
+     * @return Identificador del último elemento de la página anterior.
+     * @throws BadRequestException Si el cursor es inválido.
+     */
+    public static Long decodeLong(String cursor) {
+        try {
+            return Long.valueOf(decodeRaw(cursor));
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    /**
+     * Decodifica un cursor sobre un identificador UUID.
+     *
+     * @param cursor Cursor recibido del cliente.
+     * @return Identificador del último elemento de la página anterior.
+     * @throws BadRequestException Si el cursor es inválido.
+     */
+    public static UUID decodeUuid(String cursor) {
+        try {
+            return UUID.fromString(decodeRaw(cursor));
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    /**
+     * Decodifica un cursor sobre la clave compuesta (fecha, identificador).
+     *
+     * @param cursor Cursor recibido del cliente.
+     * @return Fecha e identificador del último elemento de la página anterior.
+     * @throws BadRequestException Si el cursor es inválido.
+     */
+    public static DateKey decodeDateKey(String cursor) {
+        String raw = decodeRaw(cursor);
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw invalid();
+        }
+        try {
+            return new DateKey(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    /**
+     * Decodifica un cursor sobre la clave (campo de orden, identificador).
+     *
+     * @param cursor Cursor recibido del cliente.
+     * @param field  Campo de orden de la búsqueda actual.
+     * @return Valor del campo de orden e identificador del último elemento de la página anterior.
+     * @throws BadRequestException Si el cursor es inválido o fue generado para otro campo de orden.
+     */
+    public static SortKey decodeSortKey(String cursor, String field) {
+        String[] parts = decodeRaw(cursor).split(Pattern.quote(SEPARATOR), 3);
+        if (parts.length != 3 || !parts[0].equals(field) || !(parts[2].isEmpty() || parts[2].startsWith("="))) {
+            throw invalid();
+        }
+        try {
+            return new SortKey(parts[2].isEmpty() ? null : parts[2].substring(1), Long.valueOf(parts[1]));
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    /**
+     * Clave compuesta (fecha, identificador) decodificada de un cursor.
+     *
+     * @param date Fecha del último elemento.
+     * @param id   Identificador del último elemento.
+     */
+    public record DateKey(LocalDateTime date, Long id) {
+    }
+
+    /**
+     * Clave (campo de orden, identificador) decodificada de un cursor.
+     *
+     * @param value Valor del campo de orden del último elemento, o null si era nulo.
+     * @param id    Identificador del último elemento.
+     */
+    public record SortKey(String value, Long id) {
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeRaw(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    private static BadRequestException invalid() {
+        return new BadRequestException("Cursor de paginación inválido");
+    }
+}
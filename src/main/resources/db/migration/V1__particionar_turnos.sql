@@ -0,0 +1,148 @@
+-- Convierte la tabla "turnos" en una tabla particionada por mes según "fecha_turno".
+--
+-- En una base nueva crea la tabla particionada con los índices declarados en la entidad Appointment. Hibernate no
+-- actualiza esta tabla (ver MigratedTablesSchemaFilterProvider); sus claves foráneas las agrega DatabaseSchemaInitializer
+-- cuando Hibernate ya creó las tablas "medical_staff" y "pacientes".
+--
+-- En una base existente no copia el historial: la tabla actual pasa a ser la partición "turnos_historico",
+-- que cubre todos los meses anteriores al actual. Solo se mueven los turnos del mes actual en adelante, que quedan
+-- en la partición por defecto hasta que AppointmentPartitionManager crea sus particiones mensuales.
+-- La migración mantiene el bloqueo exclusivo de la tabla mientras verifica la partición histórica y construye
+-- su índice (id_turno, fecha_turno): debe ejecutarse en una ventana de mantenimiento.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+DECLARE
+    desde        timestamp := date_trunc('month', localtimestamp);
+    clave        text;
+    indices      text[];
+    foraneas     text[];
+    definicion   text;
+    indice       record;
+    superpuestos text;
+BEGIN
+    IF to_regclass('turnos') IS NULL THEN
+        CREATE TABLE turnos (
+            id_turno         bigint       NOT NULL,
+            activo           boolean,
+            centro_atención  varchar(255),
+            descripción      varchar(255),
+            fecha_turno      timestamp(6) NOT NULL,
+            motivo           varchar(255) CONSTRAINT turnos_motivo_check CHECK (motivo IN ('PRIMERA_CONSULTA', 'SEGUIMIENTO')),
+            patient_id       bigint       NOT NULL,
+            professional_id  bigint       NOT NULL,
+            version          bigint       DEFAULT 0 NOT NULL,
+            PRIMARY KEY (id_turno, fecha_turno)
+        ) PARTITION BY RANGE (fecha_turno);
+        CREATE INDEX idx_turnos_paciente_fecha ON turnos (patient_id, fecha_turno);
+        CREATE INDEX idx_turnos_profesional_fecha ON turnos (professional_id, fecha_turno);
+        CREATE INDEX idx_turnos_fecha_id ON turnos (fecha_turno, id_turno);
+        CREATE INDEX idx_turnos_centro_fecha ON turnos (centro_atención, fecha_turno);
+    ELSIF (SELECT relkind FROM pg_class WHERE oid = 'turnos'::regclass) = 'p' THEN
+        -- Ya particionada por una versión anterior que convertía la tabla al iniciar la aplicación.
+        ALTER TABLE turnos ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+        RETURN;
+    ELSE
+        IF EXISTS (SELECT 1 FROM turnos WHERE fecha_turno IS NULL) THEN
+            RAISE EXCEPTION 'La tabla turnos tiene filas sin fecha_turno; deben corregirse antes de particionarla';
+        END IF;
+
+        -- Antes no se impedían los turnos superpuestos, pero las restricciones de exclusión de la partición por
+        -- defecto rechazarían los del mes actual en adelante al moverlos: se informan para corregirlos a mano.
+        SELECT string_agg(format('%s y %s', par.a, par.b), ', ') INTO superpuestos
+        FROM (SELECT a.id_turno AS a, b.id_turno AS b
+              FROM turnos a
+              JOIN turnos b ON b.id_turno > a.id_turno
+                  AND (b.professional_id = a.professional_id OR b.patient_id = a.patient_id)
+                  AND b.fecha_turno > a.fecha_turno - interval '${slot-minutes} minutes'
+                  AND b.fecha_turno < a.fecha_turno + interval '${slot-minutes} minutes'
+              WHERE a.activo AND b.activo AND a.fecha_turno >= desde AND b.fecha_turno >= desde
+              ORDER BY a.id_turno, b.id_turno
+              LIMIT 50) par;
+        IF superpuestos IS NOT NULL THEN
+            RAISE EXCEPTION 'La tabla turnos tiene turnos activos superpuestos desde %: %', desde, superpuestos
+                USING HINT = 'Desactive (activo = false) o reprograme uno de cada par y reinicie la aplicación, '
+                             'que vuelve a intentar la migración.';
+        END IF;
+
+        -- La entidad Appointment usaba IDENTITY para id_turno; ahora lo genera la secuencia "turnos_seq".
+        -- La columna "version" del bloqueo optimista no la agrega Hibernate, que no actualiza esta tabla.
+        ALTER TABLE turnos ALTER COLUMN id_turno DROP IDENTITY IF EXISTS;
+        ALTER TABLE turnos ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+
+        -- Las definiciones se leen antes de renombrar, por lo que apuntan a "turnos" y a los nombres originales.
+        SELECT conname INTO clave FROM pg_constraint WHERE conrelid = 'turnos'::regclass AND contype = 'p';
+        SELECT coalesce(array_agg(pg_get_indexdef(x.indexrelid)), '{}') INTO indices
+        FROM pg_index x
+        WHERE x.indrelid = 'turnos'::regclass AND NOT x.indisprimary AND NOT x.indisexclusion;
+        SELECT coalesce(array_agg(format('ALTER TABLE turnos ADD CONSTRAINT %I %s', conname, pg_get_constraintdef(oid))), '{}')
+        INTO foraneas
+        FROM pg_constraint WHERE conrelid = 'turnos'::regclass AND contype = 'f';
+
+        ALTER TABLE turnos RENAME TO turnos_historico;
+        IF clave IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE turnos_historico DROP CONSTRAINT %I', clave);
+        END IF;
+        FOR indice IN
+            SELECT i.relname FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid
+            WHERE x.indrelid = 'turnos_historico'::regclass AND NOT x.indisexclusion
+        LOOP
+            EXECUTE format('ALTER INDEX %I RENAME TO %I', indice.relname, left(indice.relname, 52) || '_historico');
+        END LOOP;
+        ALTER TABLE turnos_historico ALTER COLUMN fecha_turno SET NOT NULL;
+
+        CREATE TABLE turnos (LIKE turnos_historico INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (fecha_turno);
+        ALTER TABLE turnos ADD PRIMARY KEY (id_turno, fecha_turno);
+        -- Creados antes de asociar la partición histórica, sus índices y claves foráneas equivalentes se reutilizan.
+        FOREACH definicion IN ARRAY indices || foraneas LOOP
+            EXECUTE definicion;
+        END LOOP;
+    END IF;
+
+    CREATE TABLE turnos_default PARTITION OF turnos DEFAULT;
+    ALTER TABLE turnos_default ADD CONSTRAINT turnos_default_profesional_sin_superposicion
+        EXCLUDE USING gist (professional_id WITH =, tsrange(fecha_turno, fecha_turno + interval '${slot-minutes} minutes') WITH &&) WHERE (activo);
+    ALTER TABLE turnos_default ADD CONSTRAINT turnos_default_paciente_sin_superposicion
+        EXCLUDE USING gist (patient_id WITH =, tsrange(fecha_turno, fecha_turno + interval '${slot-minutes} minutes') WITH &&) WHERE (activo);
+
+    IF to_regclass('turnos_historico') IS NOT NULL THEN
+        WITH movidos AS (DELETE FROM turnos_historico WHERE fecha_turno >= desde RETURNING *)
+        INSERT INTO turnos SELECT * FROM movidos;
+        EXECUTE format('ALTER TABLE turnos ATTACH PARTITION turnos_historico FOR VALUES FROM (MINVALUE) TO (%L)', desde);
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS turnos_archivo (LIKE turnos INCLUDING DEFAULTS) PARTITION BY RANGE (fecha_turno);
+
+-- Las restricciones de exclusión se crean en cada partición, porque PostgreSQL no las admite sobre la tabla
+-- particionada si no comparan la clave de partición por igualdad. Dos turnos solo pueden superponerse desde
+-- particiones distintas si están a menos de un turno de distancia de un cambio de mes; para esos turnos este trigger
+-- busca superposiciones en toda la tabla, tomando un bloqueo por profesional y por paciente para que dos
+-- inserciones concurrentes en meses contiguos no se validen sin verse entre sí.
+CREATE OR REPLACE FUNCTION turnos_sin_superposicion_entre_meses() RETURNS trigger
+LANGUAGE plpgsql AS $$
+DECLARE
+    duracion interval := TG_ARGV[0]::interval;
+    mes      timestamp := date_trunc('month', NEW.fecha_turno);
+BEGIN
+    IF NOT coalesce(NEW.activo, false)
+            OR (date_trunc('month', NEW.fecha_turno - duracion) = mes AND date_trunc('month', NEW.fecha_turno + duracion) = mes) THEN
+        RETURN NEW;
+    END IF;
+    PERFORM pg_advisory_xact_lock(hashtextextended('turnos:profesional:' || NEW.professional_id, 0));
+    PERFORM pg_advisory_xact_lock(hashtextextended('turnos:paciente:' || NEW.patient_id, 0));
+    IF EXISTS (SELECT 1 FROM turnos t
+               WHERE t.activo AND t.id_turno <> NEW.id_turno
+                 AND (t.professional_id = NEW.professional_id OR t.patient_id = NEW.patient_id)
+                 AND t.fecha_turno > NEW.fecha_turno - duracion AND t.fecha_turno < NEW.fecha_turno + duracion
+                 AND date_trunc('month', t.fecha_turno) <> mes) THEN
+        RAISE EXCEPTION 'El turno se superpone con otro turno activo del mes contiguo'
+            USING ERRCODE = 'exclusion_violation';
+    END IF;
+    RETURN NEW;
+END $$;
+
+CREATE TRIGGER turnos_sin_superposicion_entre_meses
+    BEFORE INSERT OR UPDATE OF fecha_turno, activo, professional_id, patient_id ON turnos
+    FOR EACH ROW EXECUTE FUNCTION turnos_sin_superposicion_entre_meses('${slot-minutes} minutes');
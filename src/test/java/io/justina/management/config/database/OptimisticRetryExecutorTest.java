@@ -0,0 +1,102 @@
+package io.justina.management.config.database;
+
+import io.justina.management.exception.ConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OptimisticRetryExecutorTest {
+
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryExecutor retryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        retryExecutor = new OptimisticRetryExecutor(new TransactionTemplate(transactionManager), meterRegistry,
+                3, Duration.ofMillis(1), Duration.ofMillis(2));
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void versionConflictIsRetriedInANewTransaction() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryExecutor.execute("updatePatient", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Patient", 1L);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(2)).rollback(any(TransactionStatus.class));
+        verify(transactionManager, times(1)).commit(any(TransactionStatus.class));
+        assertEquals(2, meterRegistry.get("db.optimistic.retries").tag("operation", "updatePatient").counter().count());
+    }
+
+    @Test
+    void exhaustedRetriesBecomeConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConflictException.class, () -> retryExecutor.run("updatePatient", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Patient", 1L);
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, meterRegistry.get("db.optimistic.exhausted").tag("operation", "updatePatient").counter().count());
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> retryExecutor.run("updatePatient", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("fallo");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void conflictInsideAnOuterTransactionIsNotRetried() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retryExecutor.run("updatePatient", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Patient", 1L);
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+}
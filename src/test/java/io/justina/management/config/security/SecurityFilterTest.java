@@ -0,0 +1,98 @@
+package io.justina.management.config.security;
+
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import io.justina.management.service.token.TokenClaims;
+import io.justina.management.service.token.TokenRevocationService;
+import io.justina.management.service.token.TokenVersionRegistry;
+import io.justina.management.service.token.VerifiedTokenCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SecurityFilterTest {
+
+    private VerifiedTokenCache verifiedTokenCache;
+    private TokenRevocationService tokenRevocationService;
+    private SecurityFilter securityFilter;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = mock(VerifiedTokenCache.class);
+        tokenRevocationService = mock(TokenRevocationService.class);
+        securityFilter = new SecurityFilter(verifiedTokenCache, mock(UserDetailsService.class), tokenRevocationService,
+                mock(TokenVersionRegistry.class), true);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validAccessTokenAuthenticatesTheRequest() throws Exception {
+        when(verifiedTokenCache.verify("valid")).thenReturn(new TokenClaims("ana@justina.io", 1L, "PATIENT", "Ana",
+                Instant.now().plus(Duration.ofMinutes(15)), "jti-1", TokenClaims.ACCESS, 0));
+
+        MockFilterChain chain = filter("valid");
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(1L, ((AuthenticatedUser) authentication.getPrincipal()).id());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void expiredTokenLeavesTheRequestUnauthenticated() throws Exception {
+        when(verifiedTokenCache.verify("expired")).thenThrow(new TokenExpiredException("expired", Instant.now()));
+
+        MockFilterChain chain = filter("expired");
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void tamperedTokenLeavesTheRequestUnauthenticated() throws Exception {
+        when(verifiedTokenCache.verify("tampered")).thenThrow(new SignatureVerificationException(null));
+
+        MockFilterChain chain = filter("tampered");
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void revokedTokenLeavesTheRequestUnauthenticated() throws Exception {
+        when(verifiedTokenCache.verify("revoked")).thenReturn(new TokenClaims("ana@justina.io", 1L, "PATIENT", "Ana",
+                Instant.now().plus(Duration.ofMinutes(15)), "jti-2", TokenClaims.ACCESS, 0));
+        when(tokenRevocationService.isRevoked("jti-2")).thenReturn(true);
+
+        filter("revoked");
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private MockFilterChain filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/appointment");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+        securityFilter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+}
@@ -0,0 +1,23 @@
+package io.justina.management.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevokedTokenTest {
+
+    @Test
+    void newTokenIsInsertedAndStopsBeingNewOncePersisted() {
+        RevokedToken revokedToken = new RevokedToken("jti-1", Instant.now(), Instant.now());
+
+        assertEquals("jti-1", revokedToken.getId());
+        assertTrue(revokedToken.isNew());
+
+        revokedToken.markPersisted();
+        assertFalse(revokedToken.isNew());
+    }
+}
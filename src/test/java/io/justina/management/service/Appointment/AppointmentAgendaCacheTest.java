@@ -0,0 +1,119 @@
+package io.justina.management.service.Appointment;
+
+import io.justina.management.dto.appointment.AppointmentResponseDTO;
+import io.justina.management.repository.AppointmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentAgendaCacheTest {
+
+    private static final Long DOCTOR = 10L;
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 20);
+
+    private AppointmentRepository appointmentRepository;
+    private AppointmentAgendaCache agendaCache;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findAgenda(eq(DOCTOR), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(new ArrayList<>(List.of(appointment(1L, 9, 0), appointment(3L, 11, 0))));
+        agendaCache = new AppointmentAgendaCache(appointmentRepository, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void putUpdatesCachedAgendaOnlyAfterCommit() {
+        agendaCache.get(DOCTOR, DAY);
+        TransactionSynchronizationManager.initSynchronization();
+
+        agendaCache.put(appointment(2L, 10, 0));
+        assertEquals(List.of(1L, 3L), ids(agendaCache.get(DOCTOR, DAY)));
+
+        commit();
+        assertEquals(List.of(1L, 2L, 3L), ids(agendaCache.get(DOCTOR, DAY)));
+        verify(appointmentRepository, times(1)).findAgenda(eq(DOCTOR), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void putReplacesTheAppointmentWithTheSameId() {
+        agendaCache.get(DOCTOR, DAY);
+
+        agendaCache.put(appointment(1L, 12, 0));
+
+        List<AppointmentResponseDTO> agenda = agendaCache.get(DOCTOR, DAY);
+        assertEquals(List.of(3L, 1L), ids(agenda));
+        assertEquals(DAY.atTime(12, 0), agenda.get(1).date());
+    }
+
+    @Test
+    void rolledBackPutLeavesTheAgendaUnchanged() {
+        agendaCache.get(DOCTOR, DAY);
+        TransactionSynchronizationManager.initSynchronization();
+
+        agendaCache.put(appointment(2L, 10, 0));
+        rollback();
+
+        assertEquals(List.of(1L, 3L), ids(agendaCache.get(DOCTOR, DAY)));
+    }
+
+    @Test
+    void evictReloadsTheAgendaAfterCommit() {
+        agendaCache.get(DOCTOR, DAY);
+        TransactionSynchronizationManager.initSynchronization();
+
+        agendaCache.evict(DOCTOR, List.of(DAY));
+        agendaCache.get(DOCTOR, DAY);
+        verify(appointmentRepository, times(1)).findAgenda(eq(DOCTOR), any(LocalDateTime.class), any(LocalDateTime.class));
+
+        commit();
+        agendaCache.get(DOCTOR, DAY);
+        verify(appointmentRepository, times(2)).findAgenda(eq(DOCTOR), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static void rollback() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+
+    private static List<Long> ids(List<AppointmentResponseDTO> agenda) {
+        return agenda.stream().map(AppointmentResponseDTO::id).toList();
+    }
+
+    private static AppointmentResponseDTO appointment(Long id, int hour, int minute) {
+        return new AppointmentResponseDTO(id, 20L, "Luis Pac", DOCTOR, "Ana Doc", "CARDIOLOGIA",
+                "SEGUIMIENTO", null, "Centro", DAY.atTime(hour, minute), true);
+    }
+}
@@ -0,0 +1,163 @@
+package io.justina.management.service.Appointment;
+
+import io.justina.management.dto.appointment.AvailableSlotDTO;
+import io.justina.management.enums.Specialty;
+import io.justina.management.repository.AppointmentRepository;
+import io.justina.management.repository.WorkingHoursRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AppointmentAvailabilityIndexTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+    private static final String CENTER = "Centro";
+
+    private final List<WorkingHoursRepository.ScheduleView> schedules = new ArrayList<>();
+    private AppointmentAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        WorkingHoursRepository workingHoursRepository = mock(WorkingHoursRepository.class);
+        when(workingHoursRepository.findActiveSchedules()).thenAnswer(invocation -> schedules);
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findActiveSlotsFrom(any(LocalDateTime.class))).thenReturn(List.of());
+        availabilityIndex = new AppointmentAvailabilityIndex(workingHoursRepository, appointmentRepository, 15);
+    }
+
+    @Test
+    void workingRangeKeepsOnlySlotsThatFitCompletely() {
+        addSchedule(10L, DayOfWeek.MONDAY, LocalTime.of(9, 5), LocalTime.of(10, 40));
+
+        assertEquals(List.of("09:15", "09:30", "09:45", "10:00", "10:15"), times(earliest(MONDAY.atStartOfDay(), 1, 10)));
+    }
+
+    @Test
+    void unalignedBookingsSharingASlotKeepItBookedUntilBothAreReleased() {
+        addSchedule(10L, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        availabilityIndex.book(10L, MONDAY.atTime(9, 10));
+        availabilityIndex.book(10L, MONDAY.atTime(9, 25));
+        assertEquals(List.of("09:45"), times(earliest(MONDAY.atStartOfDay(), 1, 10)));
+
+        availabilityIndex.release(10L, MONDAY.atTime(9, 10));
+        assertEquals(List.of("09:00", "09:45"), times(earliest(MONDAY.atStartOfDay(), 1, 10)));
+
+        availabilityIndex.release(10L, MONDAY.atTime(9, 25));
+        assertEquals(List.of("09:00", "09:15", "09:30", "09:45"), times(earliest(MONDAY.atStartOfDay(), 1, 10)));
+    }
+
+    @Test
+    void releasingAnUnknownStartLeavesBookingsUnchanged() {
+        addSchedule(10L, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 30));
+
+        availabilityIndex.book(10L, MONDAY.atTime(9, 0));
+        availabilityIndex.release(10L, MONDAY.atTime(9, 5));
+
+        assertEquals(List.of("09:15"), times(earliest(MONDAY.atStartOfDay(), 1, 10)));
+    }
+
+    @Test
+    void searchStartsAtTheFirstWholeSlotAfterFrom() {
+        addSchedule(10L, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        assertEquals(List.of("09:15", "09:30", "09:45"), times(earliest(MONDAY.atTime(9, 7), 1, 10)));
+        assertEquals(List.of("09:15", "09:30", "09:45"), times(earliest(MONDAY.atTime(9, 15), 1, 10)));
+        assertEquals(List.of(), earliest(MONDAY.atTime(9, 45, 1), 1, 10));
+    }
+
+    @Test
+    void searchFromTheLastSlotOfTheDayContinuesOnTheNextDay() {
+        addSchedule(10L, DayOfWeek.SUNDAY, LocalTime.of(23, 0), LocalTime.MAX);
+        addSchedule(10L, DayOfWeek.MONDAY, LocalTime.of(0, 0), LocalTime.of(0, 30));
+
+        List<AvailableSlotDTO> slots = earliest(MONDAY.minusDays(1).atTime(23, 46), 2, 10);
+
+        assertEquals(List.of(MONDAY.atTime(0, 0), MONDAY.atTime(0, 15)), slots.stream().map(AvailableSlotDTO::date).toList());
+    }
+
+    @Test
+    void slotsOfSeveralDoctorsAreMergedByTimeAndThenById() {
+        addSchedule(11L, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 30));
+        addSchedule(10L, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 30));
+        addSchedule(12L, Specialty.PEDIATRIA, DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(9, 30));
+        availabilityIndex.book(10L, MONDAY.atTime(9, 0));
+
+        List<AvailableSlotDTO> slots = earliest(MONDAY.atStartOfDay(), 1, 3);
+
+        assertEquals(List.of("09:00/11", "09:15/10", "09:15/11"), slots.stream()
+                .map(slot -> slot.date().toLocalTime() + "/" + slot.idMedicalStaff()).toList());
+    }
+
+    private List<AvailableSlotDTO> earliest(LocalDateTime from, int days, int limit) {
+        return availabilityIndex.findEarliest(Specialty.CARDIOLOGIA, " centro ", from, days, limit);
+    }
+
+    private static List<String> times(List<AvailableSlotDTO> slots) {
+        return slots.stream().map(slot -> slot.date().toLocalTime().toString()).toList();
+    }
+
+    private void addSchedule(Long medicalStaffId, DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
+        addSchedule(medicalStaffId, Specialty.CARDIOLOGIA, dayOfWeek, start, end);
+    }
+
+    private void addSchedule(Long medicalStaffId, Specialty specialty, DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
+        schedules.add(new Schedule(medicalStaffId, specialty, dayOfWeek, start, end));
+        availabilityIndex.refreshSchedules();
+    }
+
+    private record Schedule(Long medicalStaffId, Specialty specialty, DayOfWeek dayOfWeek, LocalTime startTime,
+                            LocalTime endTime) implements WorkingHoursRepository.ScheduleView {
+
+        @Override
+        public Long getMedicalStaffId() {
+            return medicalStaffId;
+        }
+
+        @Override
+        public String getFirstName() {
+            return "Ana";
+        }
+
+        @Override
+        public String getLastName() {
+            return "Doc";
+        }
+
+        @Override
+        public Specialty getSpecialty() {
+            return specialty;
+        }
+
+        @Override
+        public DayOfWeek getDayOfWeek() {
+            return dayOfWeek;
+        }
+
+        @Override
+        public LocalTime getStartTime() {
+            return startTime;
+        }
+
+        @Override
+        public LocalTime getEndTime() {
+            return endTime;
+        }
+
+        @Override
+        public String getHealthCenter() {
+            return CENTER;
+        }
+    }
+}
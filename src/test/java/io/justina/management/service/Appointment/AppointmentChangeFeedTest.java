@@ -0,0 +1,134 @@
+package io.justina.management.service.Appointment;
+
+import io.justina.management.dto.appointment.AppointmentChangeEventDTO;
+import io.justina.management.enums.AppointmentChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class AppointmentChangeFeedTest {
+
+    private static final Pattern EVENT = Pattern.compile("id:(\\d+)\\nevent:(\\w+)\\n");
+
+    private AppointmentChangeFeed changeFeed;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = new AppointmentChangeFeed(new SimpleMeterRegistry(), 4, 16, 1, Duration.ofMinutes(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(changeFeed)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        changeFeed.destroy();
+    }
+
+    @Test
+    void subscriberReceivesOnlyMatchingEventsAfterCommit() throws Exception {
+        MockHttpServletResponse response = subscribe(get("/stream").param("idMedicalStaff", "10"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        changeFeed.publish(event(AppointmentChangeType.CREATED, 1L, 10L));
+        changeFeed.publish(event(AppointmentChangeType.CREATED, 2L, 11L));
+        changeFeed.publish(event(AppointmentChangeType.CANCELLED, 1L, 10L));
+        Thread.sleep(50);
+        assertEquals(List.of(), events(response));
+
+        commit();
+        assertEquals(List.of("1:CREATED", "3:CANCELLED"), awaitEvents(response, 2));
+    }
+
+    @Test
+    void reconnectWithLastEventIdReplaysOnlyMissedEvents() throws Exception {
+        changeFeed.publish(event(AppointmentChangeType.CREATED, 1L, 10L));
+        changeFeed.publish(event(AppointmentChangeType.CREATED, 2L, 10L));
+        changeFeed.publish(event(AppointmentChangeType.UPDATED, 1L, 10L));
+
+        MockHttpServletResponse response = subscribe(get("/stream").header("Last-Event-ID", "1"));
+
+        assertEquals(List.of("2:CREATED", "3:UPDATED"), awaitEvents(response, 2));
+    }
+
+    @Test
+    void reconnectAfterTheHistoryWasOverwrittenReceivesReset() throws Exception {
+        for (long id = 1; id <= 6; id++) {
+            changeFeed.publish(event(AppointmentChangeType.CREATED, id, 10L));
+        }
+
+        MockHttpServletResponse response = subscribe(get("/stream").header("Last-Event-ID", "1"));
+
+        assertEquals(List.of("6:reset"), awaitEvents(response, 1));
+    }
+
+    private MockHttpServletResponse subscribe(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static List<String> awaitEvents(MockHttpServletResponse response, int count) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        List<String> events = events(response);
+        while (events.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            events = events(response);
+        }
+        assertTrue(events.size() >= count, "Eventos recibidos: " + events);
+        return events;
+    }
+
+    private static List<String> events(MockHttpServletResponse response) throws Exception {
+        Matcher matcher = EVENT.matcher(response.getContentAsString());
+        return matcher.results().map(result -> result.group(1) + ":" + result.group(2)).toList();
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static AppointmentChangeEventDTO event(AppointmentChangeType type, Long id, Long idMedicalStaff) {
+        return new AppointmentChangeEventDTO(type, id, idMedicalStaff, 20L, "Centro", LocalDateTime.of(2026, 10, 20, 9, 0));
+    }
+
+    @RestController
+    static class StreamController {
+
+        private final AppointmentChangeFeed changeFeed;
+
+        StreamController(AppointmentChangeFeed changeFeed) {
+            this.changeFeed = changeFeed;
+        }
+
+        @GetMapping("/stream")
+        SseEmitter stream(@RequestParam(required = false) Long idMedicalStaff,
+                          @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+            return changeFeed.subscribe(new AppointmentChangeFeed.Subscription(idMedicalStaff, null, null), lastEventId);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.justina.management.service.Appointment;
+
+import io.justina.management.dto.apiresponse.CursorPage;
+import io.justina.management.dto.appointment.AppointmentResponseDTO;
+import io.justina.management.repository.AppointmentRepository;
+import io.justina.management.repository.MedicalStaffRepository;
+import io.justina.management.repository.PatientRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Recorre las páginas de turnos con un repositorio en memoria que aplica la misma condición (fecha, id) > (:date, :id)
+ * que la consulta de {@link AppointmentRepository#findPageAfter}.
+ */
+class AppointmentPaginationTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2026, 10, 20, 9, 0);
+
+    private final List<AppointmentResponseDTO> rows = new ArrayList<>();
+    private AppointmentServiceImpl appointmentService;
+
+    @BeforeEach
+    void setUp() {
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findFirstPage(any(Limit.class)))
+                .thenAnswer(invocation -> page(sorted(), invocation.getArgument(0)));
+        when(appointmentRepository.findPageAfter(any(LocalDateTime.class), any(Long.class), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    LocalDateTime date = invocation.getArgument(0);
+                    Long id = invocation.getArgument(1);
+                    return page(sorted().filter(row -> row.date().isAfter(date)
+                            || (row.date().isEqual(date) && row.id() > id)), invocation.getArgument(2));
+                });
+        appointmentService = new AppointmentServiceImpl(appointmentRepository, mock(MedicalStaffRepository.class),
+                mock(PatientRepository.class), mock(AppointmentConflictIndex.class), mock(AppointmentAvailabilityIndex.class),
+                mock(AppointmentAgendaCache.class), mock(AppointmentChangeFeed.class), mock(AppointmentStatistics.class),
+                mock(Validator.class), 5000);
+    }
+
+    @Test
+    void pagesDoNotSkipOrRepeatRowsWithTheSameDate() {
+        addRow(5L, NINE);
+        addRow(2L, NINE);
+        addRow(9L, NINE);
+        addRow(1L, NINE.plusMinutes(15));
+        addRow(3L, NINE.minusMinutes(15));
+
+        assertEquals(List.of(3L, 2L, 5L, 9L, 1L), readAll(2));
+    }
+
+    @Test
+    void lastPageFilledExactlyHasNoNextCursor() {
+        addRow(1L, NINE);
+        addRow(2L, NINE);
+        addRow(3L, NINE.plusMinutes(15));
+        addRow(4L, NINE.plusMinutes(30));
+
+        CursorPage<AppointmentResponseDTO> first = appointmentService.getAllAppointments(null, 2);
+        CursorPage<AppointmentResponseDTO> last = appointmentService.getAllAppointments(first.nextCursor(), 2);
+
+        assertEquals(List.of(3L, 4L), last.items().stream().map(AppointmentResponseDTO::id).toList());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void rowInsertedBeforeTheCursorDoesNotShiftTheNextPage() {
+        addRow(1L, NINE);
+        addRow(2L, NINE.plusMinutes(15));
+        addRow(3L, NINE.plusMinutes(30));
+
+        CursorPage<AppointmentResponseDTO> first = appointmentService.getAllAppointments(null, 2);
+        addRow(4L, NINE.minusMinutes(15));
+        CursorPage<AppointmentResponseDTO> second = appointmentService.getAllAppointments(first.nextCursor(), 2);
+
+        assertEquals(List.of(3L), second.items().stream().map(AppointmentResponseDTO::id).toList());
+    }
+
+    private List<Long> readAll(int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<AppointmentResponseDTO> page = appointmentService.getAllAppointments(cursor, size);
+            page.items().forEach(item -> ids.add(item.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private void addRow(Long id, LocalDateTime date) {
+        rows.add(new AppointmentResponseDTO(id, 20L, "Luis Pac", 10L, "Ana Doc", "CARDIOLOGIA",
+                "SEGUIMIENTO", null, "Centro", date, true));
+    }
+
+    private Stream<AppointmentResponseDTO> sorted() {
+        return rows.stream().sorted(Comparator.comparing(AppointmentResponseDTO::date).thenComparing(AppointmentResponseDTO::id));
+    }
+
+    private static List<AppointmentResponseDTO> page(Stream<AppointmentResponseDTO> rows, Limit limit) {
+        return rows.limit(limit.max()).toList();
+    }
+}
@@ -0,0 +1,199 @@
+package io.justina.management.service.Appointment;
+
+import io.justina.management.dto.appointment.AppointmentStatisticsDTO;
+import io.justina.management.enums.ReasonAppointmentEnum;
+import io.justina.management.enums.Specialty;
+import io.justina.management.repository.AppointmentRepository;
+import io.justina.management.repository.AppointmentRepository.AppointmentStatisticsView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AppointmentStatisticsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 20);
+
+    private AppointmentRepository appointmentRepository;
+    private AppointmentStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.countActiveByDimensions()).thenReturn(List.of());
+        when(appointmentRepository.currentSnapshot()).thenReturn("100:100:");
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenAnswer(invocation -> new SimpleTransactionStatus());
+        statistics = new AppointmentStatistics(appointmentRepository, transactionManager);
+        statistics.init();
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void reconcileReplacesCountersWithQueryResult() {
+        statistics.record(Specialty.CARDIOLOGIA, "Centro", ReasonAppointmentEnum.SEGUIMIENTO, DAY.atTime(9, 0), 1);
+        when(appointmentRepository.countActiveByDimensions()).thenReturn(List.of(
+                new Row(Specialty.CARDIOLOGIA, "Centro", ReasonAppointmentEnum.PRIMERA_CONSULTA, DAY, 3L),
+                new Row(Specialty.PEDIATRIA, "Norte", ReasonAppointmentEnum.SEGUIMIENTO, DAY.plusDays(1), 2L)));
+
+        statistics.reconcile();
+
+        AppointmentStatisticsDTO snapshot = statistics.snapshot(null, null);
+        assertEquals(5, snapshot.total());
+        assertEquals(Map.of(Specialty.CARDIOLOGIA, 3L, Specialty.PEDIATRIA, 2L), snapshot.bySpecialty());
+        assertEquals(Map.of("Centro", 3L, "Norte", 2L), snapshot.byHealthCenter());
+        assertEquals(Map.of(ReasonAppointmentEnum.PRIMERA_CONSULTA, 3L, ReasonAppointmentEnum.SEGUIMIENTO, 2L), snapshot.byReason());
+        assertEquals(Map.of(DAY, 3L, DAY.plusDays(1), 2L), snapshot.byDay());
+    }
+
+    @Test
+    void reconcileKeepsChangesRecordedDuringTheQuery() {
+        when(appointmentRepository.countActiveByDimensions()).thenAnswer(invocation -> {
+            statistics.record(Specialty.PEDIATRIA, "Norte", ReasonAppointmentEnum.SEGUIMIENTO, DAY.atTime(10, 0), 1);
+            return List.of(new Row(Specialty.CARDIOLOGIA, "Centro", ReasonAppointmentEnum.PRIMERA_CONSULTA, DAY, 3L));
+        });
+
+        statistics.reconcile();
+
+        AppointmentStatisticsDTO snapshot = statistics.snapshot(null, null);
+        assertEquals(4, snapshot.total());
+        assertEquals(Map.of(Specialty.CARDIOLOGIA, 3L, Specialty.PEDIATRIA, 1L), snapshot.bySpecialty());
+        assertEquals(Map.of(DAY, 4L), snapshot.byDay());
+    }
+
+    @Test
+    void changeCommittedBeforeTheSnapshotIsNotCountedTwice() {
+        begin(105L);
+        statistics.record(Specialty.PEDIATRIA, "Norte", ReasonAppointmentEnum.SEGUIMIENTO, DAY.atTime(10, 0), 1);
+        when(appointmentRepository.currentSnapshot()).thenReturn("106:108:");
+        when(appointmentRepository.countActiveByDimensions()).thenAnswer(invocation -> {
+            commit();
+            return List.of(new Row(Specialty.CARDIOLOGIA, "Centro", ReasonAppointmentEnum.PRIMERA_CONSULTA, DAY, 3L),
+                    new Row(Specialty.PEDIATRIA, "Norte", ReasonAppointmentEnum.SEGUIMIENTO, DAY, 1L));
+        });
+
+        statistics.reconcile();
+
+        AppointmentStatisticsDTO snapshot = statistics.snapshot(null, null);
+        assertEquals(4, snapshot.total());
+        assertEquals(Map.of(Specialty.CARDIOLOGIA, 3L, Specialty.PEDIATRIA, 1L), snapshot.bySpecialty());
+    }
+
+    @Test
+    void changeStillInProgressAtTheSnapshotIsAdded() {
+        begin(105L);
+        statistics.record(Specialty.PEDIATRIA, "Norte", ReasonAppointmentEnum.SEGUIMIENTO, DAY.atTime(10, 0), 1);
+        when(appointmentRepository.currentSnapshot()).thenReturn("104:107:104,105");
+        when(appointmentRepository.countActiveByDimensions()).thenAnswer(invocation -> {
+            commit();
+            return List.of(new Row(Specialty.CARDIOLOGIA, "Centro", ReasonAppointmentEnum.PRIMERA_CONSULTA, DAY, 3L));
+        });
+
+        statistics.reconcile();
+
+        assertEquals(4, statistics.snapshot(null, null).total());
+    }
+
+    @Test
+    void changeAppliedAfterTheSwapIsSkippedIfTheQueryAlreadySawIt() {
+        begin(105L);
+        statistics.record(Specialty.PEDIATRIA, "Norte", ReasonAppointmentEnum.SEGUIMIENTO, DAY.atTime(10, 0), 1);
+        when(appointmentRepository.currentSnapshot()).thenReturn("106:106:");
+        when(appointmentRepository.countActiveByDimensions()).thenReturn(List.of(
+                new Row(Specialty.PEDIATRIA, "Norte", ReasonAppointmentEnum.SEGUIMIENTO, DAY, 1L)));
+
+        statistics.reconcile();
+        commit();
+
+        assertEquals(1, statistics.snapshot(null, null).total());
+    }
+
+    @Test
+    void transactionSnapshotIncludesOnlyTransactionsFinishedBeforeIt() {
+        AppointmentStatistics.TransactionSnapshot snapshot = AppointmentStatistics.TransactionSnapshot.parse("100:110:102,107");
+
+        assertTrue(snapshot.includes(99L));
+        assertTrue(snapshot.includes(103L));
+        assertFalse(snapshot.includes(102L));
+        assertFalse(snapshot.includes(107L));
+        assertFalse(snapshot.includes(110L));
+        assertFalse(snapshot.includes(null));
+    }
+
+    @Test
+    void snapshotFiltersDaysByRange() {
+        when(appointmentRepository.countActiveByDimensions()).thenReturn(List.of(
+                new Row(Specialty.CARDIOLOGIA, "Centro", ReasonAppointmentEnum.SEGUIMIENTO, DAY, 1L),
+                new Row(Specialty.CARDIOLOGIA, "Centro", ReasonAppointmentEnum.SEGUIMIENTO, DAY.plusDays(1), 1L),
+                new Row(Specialty.CARDIOLOGIA, "Centro", ReasonAppointmentEnum.SEGUIMIENTO, DAY.plusDays(2), 1L)));
+        statistics.reconcile();
+
+        assertEquals(Map.of(DAY.plusDays(1), 1L), statistics.snapshot(DAY.plusDays(1), DAY.plusDays(1)).byDay());
+        assertEquals(3, statistics.snapshot(DAY.plusDays(1), DAY.plusDays(1)).total());
+    }
+
+    private void begin(long transactionId) {
+        when(appointmentRepository.currentTransactionId()).thenReturn(transactionId);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private record Row(Specialty specialty, String healthCenter, ReasonAppointmentEnum reason, LocalDate day, Long total)
+            implements AppointmentStatisticsView {
+
+        @Override
+        public Specialty getSpecialty() {
+            return specialty;
+        }
+
+        @Override
+        public String getHealthCenter() {
+            return healthCenter;
+        }
+
+        @Override
+        public ReasonAppointmentEnum getReason() {
+            return reason;
+        }
+
+        @Override
+        public LocalDate getDay() {
+            return day;
+        }
+
+        @Override
+        public Long getTotal() {
+            return total;
+        }
+    }
+}
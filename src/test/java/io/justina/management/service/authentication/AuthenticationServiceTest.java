@@ -0,0 +1,99 @@
+package io.justina.management.service.authentication;
+
+import io.justina.management.dto.jwttoken.DataJWTTokenDTO;
+import io.justina.management.enums.RoleEnum;
+import io.justina.management.model.User;
+import io.justina.management.service.token.TokenClaims;
+import io.justina.management.service.token.TokenRevocationService;
+import io.justina.management.service.token.TokenService;
+import io.justina.management.service.token.TokenVersionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceTest {
+
+    private static final String REFRESH_TOKEN = "refresh-token";
+    private static final Instant EXPIRES_AT = Instant.now().plus(Duration.ofHours(1));
+
+    private TokenService tokenService;
+    private TokenRevocationService tokenRevocationService;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private AuthenticationService authenticationService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = mock(TokenService.class);
+        tokenRevocationService = mock(TokenRevocationService.class);
+        tokenVersionRegistry = mock(TokenVersionRegistry.class);
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        authenticationService = new AuthenticationService(tokenService, mock(AuthenticationManager.class),
+                mock(LoginThrottleService.class), tokenRevocationService, userDetailsService, tokenVersionRegistry);
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("ana@justina.io");
+        user.setRoleEnum(RoleEnum.PATIENT);
+        user.setActive(true);
+        when(userDetailsService.loadUserByUsername("ana@justina.io")).thenReturn(user);
+        when(tokenService.verifyToken(REFRESH_TOKEN)).thenReturn(claims(TokenClaims.REFRESH));
+        when(tokenService.generateToken(user)).thenReturn("access-2");
+        when(tokenService.generateRefreshToken(user)).thenReturn("refresh-2");
+    }
+
+    @Test
+    void refreshIssuesNewTokensAndRevokesTheUsedOne() {
+        when(tokenRevocationService.revoke(any(TokenClaims.class))).thenReturn(true);
+
+        DataJWTTokenDTO tokens = authenticationService.refresh(REFRESH_TOKEN);
+
+        assertEquals("access-2", tokens.jwtToken());
+        assertEquals("refresh-2", tokens.refreshToken());
+        verify(tokenRevocationService).revoke(claims(TokenClaims.REFRESH));
+    }
+
+    @Test
+    void replayedRefreshTokenIsRejected() {
+        when(tokenRevocationService.revoke(any(TokenClaims.class))).thenReturn(true, false);
+
+        authenticationService.refresh(REFRESH_TOKEN);
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.refresh(REFRESH_TOKEN));
+        verify(tokenService, times(1)).generateRefreshToken(user);
+    }
+
+    @Test
+    void accessTokenCannotBeUsedToRefresh() {
+        when(tokenService.verifyToken("access-token")).thenReturn(claims(TokenClaims.ACCESS));
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.refresh("access-token"));
+        verify(tokenRevocationService, never()).revoke(any(TokenClaims.class));
+    }
+
+    @Test
+    void outdatedRefreshTokenIsRejectedWithoutRevoking() {
+        when(tokenVersionRegistry.isOutdated(any(TokenClaims.class))).thenReturn(true);
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.refresh(REFRESH_TOKEN));
+        verify(tokenRevocationService, never()).revoke(any(TokenClaims.class));
+    }
+
+    private static TokenClaims claims(String type) {
+        return new TokenClaims("ana@justina.io", 1L, "PATIENT", "Ana", EXPIRES_AT, "jti-" + type, type, 0);
+    }
+}
@@ -0,0 +1,81 @@
+package io.justina.management.service.token;
+
+import io.justina.management.model.RevokedToken;
+import io.justina.management.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, mock(PlatformTransactionManager.class), 1000,
+                Duration.ofSeconds(5));
+        tokenRevocationService.init();
+    }
+
+    @Test
+    void revokeReturnsTrueOnlyForTheFirstInsert() {
+        TokenClaims claims = refreshClaims("jti-1", Instant.now().plus(Duration.ofHours(1)));
+        when(revokedTokenRepository.saveAndFlush(any(RevokedToken.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertTrue(tokenRevocationService.revoke(claims));
+        assertFalse(tokenRevocationService.revoke(claims));
+    }
+
+    @Test
+    void revokedTokenIsReportedAsRevoked() {
+        TokenClaims claims = refreshClaims("jti-2", Instant.now().plus(Duration.ofHours(1)));
+        when(revokedTokenRepository.existsById("jti-2")).thenReturn(true);
+
+        assertFalse(tokenRevocationService.isRevoked("jti-2"));
+        tokenRevocationService.revoke(claims);
+
+        assertTrue(tokenRevocationService.isRevoked("jti-2"));
+    }
+
+    @Test
+    void refreshAddsTokensRevokedOnAnotherInstance() {
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+        when(revokedTokenRepository.existsById("jti-4")).thenReturn(true);
+        when(revokedTokenRepository.findByRevokedAtAfter(any(Instant.class)))
+                .thenReturn(List.of(new RevokedToken("jti-4", expiresAt, Instant.now())));
+
+        assertFalse(tokenRevocationService.isRevoked("jti-4"));
+        tokenRevocationService.refresh();
+
+        assertTrue(tokenRevocationService.isRevoked("jti-4"));
+    }
+
+    @Test
+    void expiredTokenIsNotStored() {
+        TokenClaims claims = refreshClaims("jti-3", Instant.now().minusSeconds(1));
+
+        assertFalse(tokenRevocationService.revoke(claims));
+        verify(revokedTokenRepository, never()).saveAndFlush(any(RevokedToken.class));
+    }
+
+    static TokenClaims refreshClaims(String tokenId, Instant expiresAt) {
+        return new TokenClaims("ana@justina.io", 1L, "PATIENT", "Ana", expiresAt, tokenId, TokenClaims.REFRESH, 0);
+    }
+}
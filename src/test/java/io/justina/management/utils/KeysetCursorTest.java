@@ -0,0 +1,71 @@
+package io.justina.management.utils;
+
+import io.justina.management.dto.apiresponse.CursorPage;
+import io.justina.management.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void dateKeyRoundTrip() {
+        LocalDateTime date = LocalDateTime.of(2026, 10, 20, 9, 30);
+
+        KeysetCursor.DateKey key = KeysetCursor.decodeDateKey(KeysetCursor.encode(date, 42L));
+
+        assertEquals(new KeysetCursor.DateKey(date, 42L), key);
+    }
+
+    @Test
+    void sortKeyRoundTripKeepsSeparatorsAndNullValues() {
+        KeysetCursor.SortKey key = KeysetCursor.decodeSortKey(KeysetCursor.encode("healthCenter", "Centro|Norte", 7L), "healthCenter");
+        KeysetCursor.SortKey nullKey = KeysetCursor.decodeSortKey(KeysetCursor.encode("healthCenter", null, 8L), "healthCenter");
+
+        assertEquals(new KeysetCursor.SortKey("Centro|Norte", 7L), key);
+        assertEquals(new KeysetCursor.SortKey(null, 8L), nullKey);
+    }
+
+    @Test
+    void sortKeyFromAnotherFieldIsRejected() {
+        String cursor = KeysetCursor.encode("date", "2026-10-20T09:30", 7L);
+
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decodeSortKey(cursor, "healthCenter"));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decodeLong("%%%"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decodeLong(KeysetCursor.encode(LocalDateTime.now(), 1L)));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decodeDateKey(KeysetCursor.encode(1L)));
+    }
+
+    @Test
+    void pageWithExtraRowHasNextCursorFromItsLastItem() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L, 3L), 2, Function.identity(), KeysetCursor::encode);
+
+        assertEquals(List.of(1L, 2L), page.items());
+        assertEquals(2L, KeysetCursor.decodeLong(page.nextCursor()));
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        assertNull(CursorPage.of(List.of(1L, 2L), 2, Function.identity(), KeysetCursor::encode).nextCursor());
+        assertNull(CursorPage.of(List.<Long>of(), 2, Function.identity(), KeysetCursor::encode).nextCursor());
+        assertNotNull(CursorPage.of(List.of(1L, 2L, 3L), 2, Function.identity(), KeysetCursor::encode).nextCursor());
+    }
+
+    @Test
+    void clampSizeUsesDefaultAndMaximum() {
+        assertEquals(CursorPage.DEFAULT_SIZE, CursorPage.clampSize(0));
+        assertEquals(CursorPage.MAX_SIZE, CursorPage.clampSize(CursorPage.MAX_SIZE + 1));
+        assertEquals(10, CursorPage.clampSize(10));
+    }
+}